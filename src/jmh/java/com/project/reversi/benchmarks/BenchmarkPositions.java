@@ -0,0 +1,90 @@
+package com.project.reversi.benchmarks;
+
+import com.project.reversi.BoardSnapshots;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+
+import java.util.Map;
+
+/**
+ * Fixed corpus of positions from one seeded random game, keyed by ply, so every run measures the
+ * same work. Black is to move in all of them.
+ */
+final class BenchmarkPositions {
+
+  static final PlayerColor TO_MOVE = PlayerColor.BLACK;
+
+  private static final Map<Integer, String[]> POSITIONS = Map.of(
+      8, new String[] {
+          "--------",
+          "--------",
+          "--WB----",
+          "---WB---",
+          "--WWBB--",
+          "----WB--",
+          "-----W--",
+          "------W-"},
+      16, new String[] {
+          "---W----",
+          "-BBW----",
+          "--BW----",
+          "-BBWW---",
+          "-BBWBW--",
+          "----WWW-",
+          "-----W--",
+          "------W-"},
+      24, new String[] {
+          "-W-W----",
+          "WWWW----",
+          "-BWWB---",
+          "WBWWW---",
+          "-WWWBW--",
+          "--WBBBBB",
+          "-----W--",
+          "------W-"},
+      32, new String[] {
+          "-W-W----",
+          "WWWW----",
+          "WWWWW---",
+          "WWBBWBB-",
+          "-WWWWBB-",
+          "--WWWWBB",
+          "----BWW-",
+          "---B--WW"},
+      40, new String[] {
+          "BW-W----",
+          "BWWWWW--",
+          "BWBBW---",
+          "BBBWBBB-",
+          "BBBBBWWW",
+          "--WWBWWW",
+          "---WBWWW",
+          "---BB-WW"},
+      48, new String[] {
+          "BBBBBB--",
+          "BBWWBBB-",
+          "BWWBB---",
+          "BWBBBBB-",
+          "BWBBBWWW",
+          "-BWWBWWW",
+          "B-WWWWWW",
+          "--BBB-WW"});
+
+  private BenchmarkPositions() {
+  }
+
+  static Board board(int ply) {
+    String[] rows = POSITIONS.get(ply);
+    if (rows == null) {
+      throw new IllegalArgumentException("No benchmark position at ply " + ply);
+    }
+    return Board.fromSnapshot(BoardSnapshots.rows(rows));
+  }
+
+  static GameSession session(int ply) {
+    return new GameSession(board(ply), new Player(TO_MOVE.opposite()), GameType.PLAYER_VS_COMPUTER);
+  }
+}
@@ -0,0 +1,68 @@
+package com.project.reversi.benchmarks;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation and board copying on the benchmark corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardBenchmark {
+
+  @Param({"8", "16", "24", "32", "40", "48"})
+  public int ply;
+
+  private Board board;
+  private List<Position> moves;
+
+  @Setup
+  public void setUp() {
+    GameSession session = BenchmarkPositions.session(ply);
+    board = session.getBoard();
+    moves = board.legalMoves(BenchmarkPositions.TO_MOVE);
+  }
+
+  /**
+   * Flips of every legal move in the position.
+   */
+  @Benchmark
+  public void computeFlips(Blackhole blackhole) {
+    for (Position move : moves) {
+      blackhole.consume(board.computeFlips(move.row(), move.col(), BenchmarkPositions.TO_MOVE));
+    }
+  }
+
+  /**
+   * Move generation on the board itself; the session would only answer from its legal-move cache.
+   */
+  @Benchmark
+  public List<Position> computeValidMoves() {
+    return board.legalMoves(BenchmarkPositions.TO_MOVE);
+  }
+
+  @Benchmark
+  public Board copyBoard() {
+    return board.copyBoard();
+  }
+}
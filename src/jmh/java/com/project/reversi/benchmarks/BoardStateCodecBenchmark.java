@@ -0,0 +1,66 @@
+package com.project.reversi.benchmarks;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.BoardStateCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisted board-state encoding, paid on every session load and save.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardStateCodecBenchmark {
+
+  @Param({"8", "32", "48"})
+  public int ply;
+
+  private Board board;
+  private byte[] encoded;
+  private String legacyJson;
+
+  @Setup
+  public void setUp() {
+    board = BenchmarkPositions.board(ply);
+    encoded = BoardStateCodec.encode(board);
+    legacyJson = BoardStateCodec.encodeLegacyJson(board);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return BoardStateCodec.encode(board);
+  }
+
+  @Benchmark
+  public Board decode() {
+    return BoardStateCodec.decode(encoded);
+  }
+
+  /**
+   * Baseline: the JSON format rows were stored in before the binary codec.
+   */
+  @Benchmark
+  public String encodeLegacyJson() {
+    return BoardStateCodec.encodeLegacyJson(board);
+  }
+
+  @Benchmark
+  public Board decodeLegacyJson() {
+    return BoardStateCodec.decodeLegacyJson(legacyJson);
+  }
+}
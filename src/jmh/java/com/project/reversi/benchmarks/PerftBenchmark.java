@@ -0,0 +1,66 @@
+package com.project.reversi.benchmarks;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.Perft;
+import com.project.reversi.model.PlayerColor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw move-generation throughput: perft from the initial position, reported as leaf nodes per second
+ * in the {@code nodes} counter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+
+  @Param({"7"})
+  public int depth;
+
+  @Param({"1", "4"})
+  public int threads;
+
+  private Board board;
+
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class Nodes {
+    public long nodes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      nodes = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    board = new Board(8, 8);
+  }
+
+  @Benchmark
+  public long perft(Nodes counter) {
+    long leaves = threads == 1
+                  ? Perft.perft(board, PlayerColor.BLACK, depth)
+                  : Perft.parallelPerft(board, PlayerColor.BLACK, depth, threads);
+    counter.nodes += leaves;
+    return leaves;
+  }
+}
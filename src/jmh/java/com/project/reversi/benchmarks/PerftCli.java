@@ -0,0 +1,38 @@
+package com.project.reversi.benchmarks;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.Perft;
+import com.project.reversi.model.PlayerColor;
+
+/**
+ * Command-line perft: {@code PerftCli [depth] [threads]}. Prints the leaf count and nodes per second
+ * for each depth up to {@code depth}, single-threaded and then on {@code threads} threads.
+ */
+public final class PerftCli {
+
+  private PerftCli() {
+  }
+
+  public static void main(String[] args) {
+    int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    Board board = new Board(8, 8);
+
+    System.out.printf("%5s %7s %14s %10s %14s%n", "depth", "threads", "nodes", "millis", "nodes/sec");
+    for (int depth = 1; depth <= maxDepth; depth++) {
+      report(board, depth, 1);
+      if (threads > 1) {
+        report(board, depth, threads);
+      }
+    }
+  }
+
+  private static void report(Board board, int depth, int threads) {
+    long start = System.nanoTime();
+    long nodes = threads == 1
+                 ? Perft.perft(board, PlayerColor.BLACK, depth)
+                 : Perft.parallelPerft(board, PlayerColor.BLACK, depth, threads);
+    long elapsed = Math.max(1, System.nanoTime() - start);
+    System.out.printf("%5d %7d %14d %10.1f %14.0f%n", depth, threads, nodes, elapsed / 1e6, nodes * 1e9 / elapsed);
+  }
+}
@@ -0,0 +1,51 @@
+package com.project.reversi.benchmarks;
+
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.Position;
+import com.project.reversi.services.MinMaxAlphaBetaStrat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-depth computer search, without time budget, transposition table or endgame solver, so the
+ * work per call is identical between runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+  @Param({"2", "4", "6"})
+  public int depth;
+
+  @Param({"16", "32", "48"})
+  public int ply;
+
+  private GameSession session;
+  private MinMaxAlphaBetaStrat strategy;
+
+  @Setup
+  public void setUp() {
+    session = BenchmarkPositions.session(ply);
+    strategy = new MinMaxAlphaBetaStrat(depth);
+  }
+
+  @Benchmark
+  public Position execute() {
+    return strategy.execute(session, BenchmarkPositions.TO_MOVE);
+  }
+}
@@ -0,0 +1,23 @@
+package com.project.reversi.config;
+
+import com.project.reversi.services.ComputerStrategy;
+import com.project.reversi.services.LazySmpStrategy;
+import com.project.reversi.services.MinMaxAlphaBetaStrat;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ComputerConfiguration {
+
+  @Bean
+  ComputerStrategy strategy(ComputerProperties computerProperties) {
+    if (computerProperties.getThreads() > 1) {
+      return new LazySmpStrategy(computerProperties.getDepth(), computerProperties.getTimeBudget(),
+                                 computerProperties.getTranspositionTableBits(), computerProperties.getThreads(),
+                                 computerProperties.getEndgameEmpties());
+    }
+    return new MinMaxAlphaBetaStrat(computerProperties.getDepth(), computerProperties.getTimeBudget(),
+                                    computerProperties.getTranspositionTableBits(),
+                                    computerProperties.getEndgameEmpties());
+  }
+}
@@ -0,0 +1,127 @@
+package com.project.reversi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the computer opponent.
+ */
+@Component
+@ConfigurationProperties(prefix = "reversi.computer")
+public class ComputerProperties {
+
+  /**
+   * Maximum search depth in plies.
+   */
+  private int depth = 3;
+
+  /**
+   * Wall-clock budget per computer move. When set, the search deepens iteratively up to
+   * {@code depth} and plays the best move of the last depth completed within the budget.
+   */
+  private Duration timeBudget;
+
+  /**
+   * Size of each game's transposition table as a power of two (buckets of two entries, 32 bytes each).
+   * 0 disables the table.
+   */
+  private int transpositionTableBits = 16;
+
+  /**
+   * Search threads per computer move. Above 1 the computer uses a Lazy SMP search whose threads share
+   * the game's transposition table.
+   */
+  private int threads = 1;
+
+  /**
+   * Number of empty squares at or below which the computer solves the game exactly instead of searching
+   * heuristically. 0 disables the endgame solver.
+   */
+  private int endgameEmpties = 14;
+
+  /**
+   * When true, the computer's reply is searched on a dedicated executor instead of the HTTP request
+   * thread: the human move is saved and acknowledged at once and the reply is pushed over
+   * {@code /topic/game-progress/{sessionId}}.
+   */
+  private boolean asyncTurns = false;
+
+  /**
+   * Threads searching computer replies in async mode. Searches hold no database connection, only a CPU:
+   * each thread keeps one core busy for up to {@code timeBudget}, and with {@code threads} above 1 they
+   * share the {@code threads - 1} Lazy SMP helpers as well. Keep this plus those helpers within the cores
+   * left over from serving requests.
+   */
+  private int asyncThreads = 2;
+
+  /**
+   * Computer replies waiting for a thread in async mode. When the queue is full the request thread
+   * plays the reply itself.
+   */
+  private int asyncQueueCapacity = 100;
+
+  public int getDepth() {
+    return depth;
+  }
+
+  public void setDepth(int depth) {
+    this.depth = depth;
+  }
+
+  public Duration getTimeBudget() {
+    return timeBudget;
+  }
+
+  public void setTimeBudget(Duration timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  public int getTranspositionTableBits() {
+    return transpositionTableBits;
+  }
+
+  public void setTranspositionTableBits(int transpositionTableBits) {
+    this.transpositionTableBits = transpositionTableBits;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public int getEndgameEmpties() {
+    return endgameEmpties;
+  }
+
+  public void setEndgameEmpties(int endgameEmpties) {
+    this.endgameEmpties = endgameEmpties;
+  }
+
+  public boolean isAsyncTurns() {
+    return asyncTurns;
+  }
+
+  public void setAsyncTurns(boolean asyncTurns) {
+    this.asyncTurns = asyncTurns;
+  }
+
+  public int getAsyncThreads() {
+    return asyncThreads;
+  }
+
+  public void setAsyncThreads(int asyncThreads) {
+    this.asyncThreads = asyncThreads;
+  }
+
+  public int getAsyncQueueCapacity() {
+    return asyncQueueCapacity;
+  }
+
+  public void setAsyncQueueCapacity(int asyncQueueCapacity) {
+    this.asyncQueueCapacity = asyncQueueCapacity;
+  }
+}
@@ -0,0 +1,43 @@
+package com.project.reversi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for serving the leaderboard.
+ */
+@Component
+@ConfigurationProperties(prefix = "reversi.leaderboard")
+public class LeaderboardProperties {
+
+  /**
+   * Answer pages and ranks from an in-memory index loaded at startup instead of querying player_stats.
+   * The index only sees games finished by this instance, so turn it off when several instances share
+   * the database.
+   */
+  private boolean inMemoryIndex = true;
+
+  /**
+   * Number of distinct (page, size) responses kept between finished games; the cache starts over
+   * when it is full. Cached pages carry an ETag. Only this instance's finished games invalidate them and
+   * the ETags differ between instances, so set this to 0 when several instances share the database: pages
+   * are then read on each request and sent without an ETag.
+   */
+  private int maxCachedPages = 256;
+
+  public boolean isInMemoryIndex() {
+    return inMemoryIndex;
+  }
+
+  public void setInMemoryIndex(boolean inMemoryIndex) {
+    this.inMemoryIndex = inMemoryIndex;
+  }
+
+  public int getMaxCachedPages() {
+    return maxCachedPages;
+  }
+
+  public void setMaxCachedPages(int maxCachedPages) {
+    this.maxCachedPages = maxCachedPages;
+  }
+}
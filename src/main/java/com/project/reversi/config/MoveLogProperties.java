@@ -0,0 +1,27 @@
+package com.project.reversi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the per-session move log.
+ */
+@Component
+@ConfigurationProperties(prefix = "reversi.move-log")
+public class MoveLogProperties {
+
+  /**
+   * Plies between board snapshots. Between snapshots a save only appends to the move log, and loading a
+   * session replays at most this many moves on top of its last snapshot. Finished games are always
+   * snapshotted.
+   */
+  private int snapshotInterval = 16;
+
+  public int getSnapshotInterval() {
+    return snapshotInterval;
+  }
+
+  public void setSnapshotInterval(int snapshotInterval) {
+    this.snapshotInterval = snapshotInterval;
+  }
+}
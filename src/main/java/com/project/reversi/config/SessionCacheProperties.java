@@ -0,0 +1,123 @@
+package com.project.reversi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the in-memory cache of active game sessions.
+ */
+@Component
+@ConfigurationProperties(prefix = "reversi.session-cache")
+public class SessionCacheProperties {
+
+  /**
+   * Serve active sessions from memory; writes still go straight to the database. A cached session does
+   * not see changes made by other instances, so turn this off when several instances share the database.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Maximum number of cached sessions; the least recently used one is dropped beyond it. Sessions whose
+   * moves are still waiting for a write-behind flush are kept regardless, until flushed.
+   */
+  private int maxSize = 1000;
+
+  /**
+   * Sessions not read or written for this long are dropped from the cache.
+   */
+  private Duration idleTimeout = Duration.ofMinutes(15);
+
+  /**
+   * When true, saves of games in progress only mark the cached session dirty; dirty sessions are written
+   * in batches every {@code flushInterval}, once {@code maxDirty} are pending, when their game finishes and
+   * on shutdown. A crash loses at most the moves of the last interval. Requires the cache to be enabled.
+   */
+  private boolean writeBehind = false;
+
+  /**
+   * Delay between write-behind flushes.
+   */
+  private Duration flushInterval = Duration.ofMillis(200);
+
+  /**
+   * Number of dirty sessions that triggers a write-behind flush before the interval elapses.
+   */
+  private int maxDirty = 500;
+
+  /**
+   * Failed write-behind flushes of a session after which the failure is logged as an error. The session
+   * stays dirty and cached and keeps being retried; only a conflicting update of its row drops it.
+   */
+  private int maxFlushRetries = 5;
+
+  /**
+   * Longest wait between retries of a session whose flush failed; the wait starts at {@code flushInterval}
+   * and doubles with each failure.
+   */
+  private Duration maxFlushBackoff = Duration.ofSeconds(30);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  public void setIdleTimeout(Duration idleTimeout) {
+    this.idleTimeout = idleTimeout;
+  }
+
+  public boolean isWriteBehind() {
+    return writeBehind;
+  }
+
+  public void setWriteBehind(boolean writeBehind) {
+    this.writeBehind = writeBehind;
+  }
+
+  public Duration getFlushInterval() {
+    return flushInterval;
+  }
+
+  public void setFlushInterval(Duration flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
+  public int getMaxDirty() {
+    return maxDirty;
+  }
+
+  public void setMaxDirty(int maxDirty) {
+    this.maxDirty = maxDirty;
+  }
+
+  public int getMaxFlushRetries() {
+    return maxFlushRetries;
+  }
+
+  public void setMaxFlushRetries(int maxFlushRetries) {
+    this.maxFlushRetries = maxFlushRetries;
+  }
+
+  public Duration getMaxFlushBackoff() {
+    return maxFlushBackoff;
+  }
+
+  public void setMaxFlushBackoff(Duration maxFlushBackoff) {
+    this.maxFlushBackoff = maxFlushBackoff;
+  }
+}
@@ -0,0 +1,55 @@
+package com.project.reversi.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration holder for the executor that serializes changes to each game session.
+ */
+@Component
+@ConfigurationProperties(prefix = "reversi.session-executor")
+public class SessionExecutorProperties {
+
+  /**
+   * Run every change to a session on the single thread that owns it. When false, changes run on the
+   * calling thread and concurrent moves on one session are left to the optimistic lock.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Number of single-threaded stripes sessions are spread over. Sessions sharing a stripe wait for each
+   * other's loads and saves; computer searches run off the stripes.
+   */
+  private int stripes = 32;
+
+  /**
+   * How long a request waits for its change to start before giving up. A change still queued at that
+   * point is dropped and the move answered with 503 Service Unavailable; one already running is waited for.
+   */
+  private Duration timeout = Duration.ofSeconds(10);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getStripes() {
+    return stripes;
+  }
+
+  public void setStripes(int stripes) {
+    this.stripes = stripes;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+}
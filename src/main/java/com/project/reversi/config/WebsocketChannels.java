@@ -0,0 +1,181 @@
+package com.project.reversi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded executors of the STOMP client inbound and outbound channels, with the counters that show
+ * whether they keep up: queue depths, outbound messages dropped because the queue was full, and
+ * sessions evicted because they fell behind their send limits. The counters are logged every
+ * {@code reversi.websocket.stats-log-interval}, as a warning when messages were dropped or sessions
+ * evicted since the previous log.
+ *
+ * <p>The executors are handed to Spring through {@link WebsocketConfiguration}, which starts and stops
+ * them as beans.
+ */
+@Component
+public class WebsocketChannels {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WebsocketChannels.class);
+
+  private final ThreadPoolTaskExecutor inboundExecutor;
+  private final ThreadPoolTaskExecutor outboundExecutor;
+  private final AtomicLong droppedMessages = new AtomicLong();
+  private final AtomicLong evictedSessions = new AtomicLong();
+  private final ScheduledExecutorService statsLogger;
+  // Counts as of the previous stats log; guarded by this
+  private long loggedDroppedMessages;
+  private long loggedEvictedSessions;
+
+  public WebsocketChannels(WebsocketProperties websocketProperties) {
+    // A full inbound queue makes the connection's own thread handle the frame, slowing that client down.
+    this.inboundExecutor = executor(websocketProperties.getInboundThreads(),
+                                    websocketProperties.getInboundQueueCapacity());
+    inboundExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    // A full outbound queue drops the message rather than stall the publisher, usually a game's executor;
+    // clients resync when they see a gap in the plies.
+    this.outboundExecutor = executor(websocketProperties.getOutboundThreads(),
+                                     websocketProperties.getOutboundQueueCapacity());
+    outboundExecutor.setRejectedExecutionHandler((task, executor) -> {
+      droppedMessages.incrementAndGet();
+      throw new RejectedExecutionException("Websocket outbound queue is full");
+    });
+    long interval = websocketProperties.getStatsLogInterval().toMillis();
+    if (interval > 0) {
+      this.statsLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "websocket-stats");
+        thread.setDaemon(true);
+        return thread;
+      });
+      statsLogger.scheduleWithFixedDelay(this::logStats, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    else {
+      this.statsLogger = null;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (statsLogger != null) {
+      statsLogger.shutdownNow();
+    }
+  }
+
+  // Spring names the threads after the channel.
+  private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(Math.max(1, threads));
+    executor.setMaxPoolSize(Math.max(1, threads));
+    executor.setQueueCapacity(Math.max(1, queueCapacity));
+    executor.setAllowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  ThreadPoolTaskExecutor getInboundExecutor() {
+    return inboundExecutor;
+  }
+
+  ThreadPoolTaskExecutor getOutboundExecutor() {
+    return outboundExecutor;
+  }
+
+  /**
+   * Wraps the STOMP handler to count the sessions closed for exceeding their send-time or send-buffer
+   * limit.
+   */
+  WebSocketHandler decorate(WebSocketHandler handler) {
+    return new WebSocketHandlerDecorator(handler) {
+      @Override
+      public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+          evictedSessions.incrementAndGet();
+          LOGGER.warn("Evicted slow websocket session {}: {}", session.getId(), closeStatus.getReason());
+        }
+        super.afterConnectionClosed(session, closeStatus);
+      }
+    };
+  }
+
+  /**
+   * Frames received from clients waiting for an inbound thread.
+   */
+  public int getInboundQueueDepth() {
+    return queueDepth(inboundExecutor);
+  }
+
+  /**
+   * Messages to clients waiting for an outbound thread.
+   */
+  public int getOutboundQueueDepth() {
+    return queueDepth(outboundExecutor);
+  }
+
+  /**
+   * Messages to clients dropped because the outbound queue was full.
+   */
+  public long getDroppedMessages() {
+    return droppedMessages.get();
+  }
+
+  /**
+   * Sessions closed because a send took longer than the send-time limit or their buffer outgrew the
+   * send-buffer limit.
+   */
+  public long getEvictedSessions() {
+    return evictedSessions.get();
+  }
+
+  /**
+   * Logs the queue depths and the messages dropped and sessions evicted since the previous log, and
+   * returns them.
+   */
+  synchronized Stats logStats() {
+    long dropped = droppedMessages.get();
+    long evicted = evictedSessions.get();
+    Stats stats = new Stats(getInboundQueueDepth(), getOutboundQueueDepth(), dropped - loggedDroppedMessages,
+                            evicted - loggedEvictedSessions);
+    loggedDroppedMessages = dropped;
+    loggedEvictedSessions = evicted;
+    if (stats.droppedMessages() > 0 || stats.evictedSessions() > 0) {
+      LOGGER.warn("Websocket channels: {}", stats);
+    }
+    else if (stats.inboundQueueDepth() > 0 || stats.outboundQueueDepth() > 0) {
+      LOGGER.info("Websocket channels: {}", stats);
+    }
+    else {
+      LOGGER.debug("Websocket channels: {}", stats);
+    }
+    return stats;
+  }
+
+  /**
+   * Queue depths at the time of a stats log, and the messages dropped and sessions evicted since the
+   * previous one.
+   */
+  record Stats(int inboundQueueDepth, int outboundQueueDepth, long droppedMessages, long evictedSessions) {
+  }
+
+  private static int queueDepth(ThreadPoolTaskExecutor executor) {
+    try {
+      return executor.getThreadPoolExecutor().getQueue().size();
+    }
+    catch (IllegalStateException e) {
+      // Not started yet, or already shut down.
+      return 0;
+    }
+  }
+}
@@ -1,19 +1,58 @@
 package com.project.reversi.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer {
 
   private final WebsocketProperties websocketProperties;
+  private final WebsocketChannels websocketChannels;
 
-  public WebsocketConfiguration(WebsocketProperties websocketProperties) {
+  public WebsocketConfiguration(WebsocketProperties websocketProperties, WebsocketChannels websocketChannels,
+                                SessionCacheProperties sessionCacheProperties,
+                                LeaderboardProperties leaderboardProperties) {
     this.websocketProperties = websocketProperties;
+    this.websocketChannels = websocketChannels;
+    List<String> perInstanceState = perInstanceState(websocketProperties, sessionCacheProperties,
+                                                     leaderboardProperties);
+    if (websocketProperties.isBrokerRelay() && !perInstanceState.isEmpty()) {
+      throw new IllegalStateException("The broker relay is for running several instances, which must not keep "
+                                      + "their own copies of shared state; set " + String.join(", ", perInstanceState));
+    }
+  }
+
+  /**
+   * Settings that keep state in this instance only and must be turned off before several instances share
+   * the database and the broker.
+   */
+  static List<String> perInstanceState(WebsocketProperties websocketProperties,
+                                       SessionCacheProperties sessionCacheProperties,
+                                       LeaderboardProperties leaderboardProperties) {
+    List<String> settings = new ArrayList<>();
+    // Covers write-behind too, which needs the cache.
+    if (sessionCacheProperties.isEnabled()) {
+      settings.add("reversi.session-cache.enabled=false");
+    }
+    if (leaderboardProperties.isInMemoryIndex()) {
+      settings.add("reversi.leaderboard.in-memory-index=false");
+    }
+    if (leaderboardProperties.getMaxCachedPages() > 0) {
+      settings.add("reversi.leaderboard.max-cached-pages=0");
+    }
+    if (websocketProperties.getSpectatorFeeds() > 0) {
+      settings.add("reversi.websocket.spectator-feeds=0");
+    }
+    return settings;
   }
 
   @Override
@@ -22,8 +61,41 @@ public class WebsocketConfiguration implements WebSocketMessageBrokerConfigurer
 
   }
 
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration.setSendTimeLimit((int) websocketProperties.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit(websocketProperties.getSendBufferSizeLimit())
+                .addDecoratorFactory(websocketChannels::decorate);
+  }
+
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration.taskExecutor(websocketChannels.getInboundExecutor());
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    registration.taskExecutor(websocketChannels.getOutboundExecutor());
+  }
+
   @Override
   public void configureMessageBroker(MessageBrokerRegistry registry) {
-    registry.setApplicationDestinationPrefixes("/app").enableSimpleBroker("/topic");
+    // Several outbound threads would otherwise be free to reorder a session's deltas.
+    registry.setApplicationDestinationPrefixes("/app").setPreservePublishOrder(true);
+    if (!websocketProperties.isBrokerRelay()) {
+      registry.enableSimpleBroker("/topic");
+      return;
+    }
+    long heartbeat = websocketProperties.getRelayHeartbeatInterval().toMillis();
+    registry.enableStompBrokerRelay("/topic")
+            .setRelayHost(websocketProperties.getRelayHost())
+            .setRelayPort(websocketProperties.getRelayPort())
+            .setClientLogin(websocketProperties.getRelayClientLogin())
+            .setClientPasscode(websocketProperties.getRelayClientPasscode())
+            .setSystemLogin(websocketProperties.getRelaySystemLogin())
+            .setSystemPasscode(websocketProperties.getRelaySystemPasscode())
+            .setVirtualHost(websocketProperties.getRelayVirtualHost())
+            .setSystemHeartbeatSendInterval(heartbeat)
+            .setSystemHeartbeatReceiveInterval(heartbeat);
   }
 }
\ No newline at end of file
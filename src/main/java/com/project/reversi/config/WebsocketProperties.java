@@ -1,5 +1,6 @@
 package com.project.reversi.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +16,106 @@ public class WebsocketProperties {
    */
   private String endpoint = "/ws/game";
 
+  /**
+   * When true, {@code /topic} destinations are relayed to an external STOMP broker (RabbitMQ, ActiveMQ,
+   * Artemis...) instead of the in-memory broker, so every instance behind the load balancer delivers
+   * what any of them publishes. SockJS fallback transports then need sticky sessions.
+   *
+   * <p>The relay alone does not make instances share state. Startup fails unless the per-instance caches
+   * are turned off as well: {@code reversi.session-cache.enabled}, {@code reversi.leaderboard.in-memory-index},
+   * {@code reversi.leaderboard.max-cached-pages} and {@code reversi.websocket.spectator-feeds}. Moves are
+   * still only queued per session within one instance; concurrent moves arriving at two instances are
+   * settled by the session's optimistic lock.
+   */
+  private boolean brokerRelay = false;
+
+  /**
+   * Host of the STOMP broker in relay mode.
+   */
+  private String relayHost = "localhost";
+
+  /**
+   * STOMP port of the broker in relay mode.
+   */
+  private int relayPort = 61613;
+
+  /**
+   * Login used for the broker connection opened for each websocket client.
+   */
+  private String relayClientLogin = "guest";
+
+  private String relayClientPasscode = "guest";
+
+  /**
+   * Login of the shared connection that carries the messages the application publishes.
+   */
+  private String relaySystemLogin = "guest";
+
+  private String relaySystemPasscode = "guest";
+
+  /**
+   * Virtual host sent in the STOMP CONNECT frames. Defaults to the relay host.
+   */
+  private String relayVirtualHost;
+
+  /**
+   * Heartbeat interval, both ways, of the shared broker connection. A lost broker is noticed and
+   * reconnected to within about this long.
+   */
+  private Duration relayHeartbeatInterval = Duration.ofSeconds(10);
+
+  /**
+   * Threads handling frames received from clients.
+   */
+  private int inboundThreads = 4;
+
+  /**
+   * Frames from clients waiting for an inbound thread. When the queue is full the connection's own
+   * thread handles the frame.
+   */
+  private int inboundQueueCapacity = 1000;
+
+  /**
+   * Threads writing messages to clients. A client that blocks a write holds its thread for up to
+   * {@code sendTimeLimit}.
+   */
+  private int outboundThreads = 8;
+
+  /**
+   * Messages to clients waiting for an outbound thread. When the queue is full further messages are
+   * dropped, see {@link WebsocketChannels#getDroppedMessages()}.
+   */
+  private int outboundQueueCapacity = 10000;
+
+  /**
+   * Longest a single send to a client may take before the client is disconnected.
+   */
+  private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+  /**
+   * Bytes that may be buffered for a client while an earlier send is still in progress before the client
+   * is disconnected. Bounds the memory one slow client can hold.
+   */
+  private int sendBufferSizeLimit = 256 * 1024;
+
+  /**
+   * Deltas kept after a game's last snapshot for spectators joining late. Past this many the feed is
+   * rebuilt from the session on the next join.
+   */
+  private int spectatorTailLength = 32;
+
+  /**
+   * Games whose serialized snapshot and delta tail are kept for spectators. A feed only sees the deltas
+   * this instance publishes; 0 keeps none and builds each catch-up from the session.
+   */
+  private int spectatorFeeds = 1024;
+
+  /**
+   * How often the channel counters (queue depths, dropped messages, evicted sessions) are logged. Zero
+   * disables the log.
+   */
+  private Duration statsLogInterval = Duration.ofMinutes(1);
+
   public String getEndpoint() {
     return endpoint;
   }
@@ -22,4 +123,148 @@ public class WebsocketProperties {
   public void setEndpoint(String endpoint) {
     this.endpoint = endpoint;
   }
+
+  public boolean isBrokerRelay() {
+    return brokerRelay;
+  }
+
+  public void setBrokerRelay(boolean brokerRelay) {
+    this.brokerRelay = brokerRelay;
+  }
+
+  public String getRelayHost() {
+    return relayHost;
+  }
+
+  public void setRelayHost(String relayHost) {
+    this.relayHost = relayHost;
+  }
+
+  public int getRelayPort() {
+    return relayPort;
+  }
+
+  public void setRelayPort(int relayPort) {
+    this.relayPort = relayPort;
+  }
+
+  public String getRelayClientLogin() {
+    return relayClientLogin;
+  }
+
+  public void setRelayClientLogin(String relayClientLogin) {
+    this.relayClientLogin = relayClientLogin;
+  }
+
+  public String getRelayClientPasscode() {
+    return relayClientPasscode;
+  }
+
+  public void setRelayClientPasscode(String relayClientPasscode) {
+    this.relayClientPasscode = relayClientPasscode;
+  }
+
+  public String getRelaySystemLogin() {
+    return relaySystemLogin;
+  }
+
+  public void setRelaySystemLogin(String relaySystemLogin) {
+    this.relaySystemLogin = relaySystemLogin;
+  }
+
+  public String getRelaySystemPasscode() {
+    return relaySystemPasscode;
+  }
+
+  public void setRelaySystemPasscode(String relaySystemPasscode) {
+    this.relaySystemPasscode = relaySystemPasscode;
+  }
+
+  public String getRelayVirtualHost() {
+    return relayVirtualHost;
+  }
+
+  public void setRelayVirtualHost(String relayVirtualHost) {
+    this.relayVirtualHost = relayVirtualHost;
+  }
+
+  public Duration getRelayHeartbeatInterval() {
+    return relayHeartbeatInterval;
+  }
+
+  public void setRelayHeartbeatInterval(Duration relayHeartbeatInterval) {
+    this.relayHeartbeatInterval = relayHeartbeatInterval;
+  }
+
+  public int getInboundThreads() {
+    return inboundThreads;
+  }
+
+  public void setInboundThreads(int inboundThreads) {
+    this.inboundThreads = inboundThreads;
+  }
+
+  public int getInboundQueueCapacity() {
+    return inboundQueueCapacity;
+  }
+
+  public void setInboundQueueCapacity(int inboundQueueCapacity) {
+    this.inboundQueueCapacity = inboundQueueCapacity;
+  }
+
+  public int getOutboundThreads() {
+    return outboundThreads;
+  }
+
+  public void setOutboundThreads(int outboundThreads) {
+    this.outboundThreads = outboundThreads;
+  }
+
+  public int getOutboundQueueCapacity() {
+    return outboundQueueCapacity;
+  }
+
+  public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+    this.outboundQueueCapacity = outboundQueueCapacity;
+  }
+
+  public Duration getSendTimeLimit() {
+    return sendTimeLimit;
+  }
+
+  public void setSendTimeLimit(Duration sendTimeLimit) {
+    this.sendTimeLimit = sendTimeLimit;
+  }
+
+  public int getSendBufferSizeLimit() {
+    return sendBufferSizeLimit;
+  }
+
+  public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+    this.sendBufferSizeLimit = sendBufferSizeLimit;
+  }
+
+  public int getSpectatorTailLength() {
+    return spectatorTailLength;
+  }
+
+  public void setSpectatorTailLength(int spectatorTailLength) {
+    this.spectatorTailLength = spectatorTailLength;
+  }
+
+  public int getSpectatorFeeds() {
+    return spectatorFeeds;
+  }
+
+  public void setSpectatorFeeds(int spectatorFeeds) {
+    this.spectatorFeeds = spectatorFeeds;
+  }
+
+  public Duration getStatsLogInterval() {
+    return statsLogInterval;
+  }
+
+  public void setStatsLogInterval(Duration statsLogInterval) {
+    this.statsLogInterval = statsLogInterval;
+  }
 }
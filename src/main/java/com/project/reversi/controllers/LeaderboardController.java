@@ -3,9 +3,9 @@ package com.project.reversi.controllers;
 
 import com.project.reversi.dto.LeaderboardRow;
 import com.project.reversi.model.User;
-import com.project.reversi.repository.LeaderboardRepository;
+import com.project.reversi.services.LeaderboardService;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,17 +20,24 @@ import org.springframework.web.bind.annotation.RestController;
 public class LeaderboardController {
 
 
-  final LeaderboardRepository leaderboardRepository;
+  final LeaderboardService leaderboardService;
 
-  public LeaderboardController(LeaderboardRepository leaderboardRepository) {this.leaderboardRepository = leaderboardRepository;}
+  public LeaderboardController(LeaderboardService leaderboardService) {this.leaderboardService = leaderboardService;}
 
   @GetMapping()
   public ResponseEntity<Page<LeaderboardRow>> getLeaderBoard(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size
   ) {
-    Page<LeaderboardRow> leaderboard = leaderboardRepository.findLeaderboard(PageRequest.of(page, size));
-    return ResponseEntity.ok(leaderboard);
+    LeaderboardService.CachedPage leaderboard = leaderboardService.getCachedLeaderboard(page, size);
+    if (leaderboard.etag() == null) {
+      return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(leaderboard.page());
+    }
+    // A request whose If-None-Match carries this ETag is answered with 304 and no body.
+    return ResponseEntity.ok()
+                         .eTag(leaderboard.etag())
+                         .cacheControl(CacheControl.noCache())
+                         .body(leaderboard.page());
   }
 
   @GetMapping("/me")
@@ -39,7 +46,7 @@ public class LeaderboardController {
     if (currentUser == null || currentUser.getId() == null) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
-    LeaderboardRow stats = leaderboardRepository.findStatsByUserId(currentUser.getId());
+    LeaderboardRow stats = leaderboardService.getStats(currentUser.getId());
     if (stats == null) {
       return ResponseEntity.noContent().build();
     }
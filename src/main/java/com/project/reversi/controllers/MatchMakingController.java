@@ -41,7 +41,12 @@ public class MatchMakingController {
     GameSessionSummaryDTO summary = null;
     if (status == MatchStatus.FOUND) {
       summary = matchMakingService.getSessionByTicketId(ticketId)
-          .map(GameSessionSummaryDTO::fromGameSession)
+          .map(session -> {
+            // The session may be mid-move; moves are played under its monitor.
+            synchronized (session) {
+              return GameSessionSummaryDTO.fromGameSession(session);
+            }
+          })
           .orElse(null);
     }
 
@@ -1,19 +1,27 @@
 package com.project.reversi.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.reversi.dto.BoardDTO;
 import com.project.reversi.dto.GameSessionSummaryDTO;
 import com.project.reversi.dto.MoveDTO;
 import com.project.reversi.dto.MoveRequestDTO;
 import com.project.reversi.dto.MoveResponseDTO;
+import com.project.reversi.model.Board;
 import com.project.reversi.model.GameSession;
 import com.project.reversi.model.GameType;
 import com.project.reversi.model.MoveResult;
 import com.project.reversi.model.Player;
 import com.project.reversi.model.PlayerColor;
 import com.project.reversi.model.User;
+import com.project.reversi.services.GameProgressPublisher;
+import com.project.reversi.services.GameReplayService;
 import com.project.reversi.services.GameService;
 import com.project.reversi.services.GameSessionService;
+import com.project.reversi.services.SessionBusyException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -21,8 +29,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,6 +40,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/sessions")
@@ -40,16 +49,22 @@ public class SessionController {
   private final GameSessionService gameSessionService;
   private final GameService gameService;
   private static final Logger logger = LoggerFactory.getLogger(SessionController.class);
-  private final SimpMessagingTemplate simpMessagingTemplate;
+  private final GameProgressPublisher progressPublisher;
+  private final GameReplayService gameReplayService;
+  private final ObjectMapper objectMapper;
 
   public SessionController(
       GameSessionService gameSessionService,
       GameService gameService,
-      SimpMessagingTemplate simpMessagingTemplate
+      GameProgressPublisher progressPublisher,
+      GameReplayService gameReplayService,
+      ObjectMapper objectMapper
   ) {
     this.gameSessionService = gameSessionService;
     this.gameService = gameService;
-    this.simpMessagingTemplate = simpMessagingTemplate;
+    this.progressPublisher = progressPublisher;
+    this.gameReplayService = gameReplayService;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -69,7 +84,7 @@ public class SessionController {
       creator.setNickName(currentUser.getUsername());
     }
     GameSession session = gameSessionService.createGameSession(gameType, creator);
-    GameSessionSummaryDTO summary = GameSessionSummaryDTO.fromGameSession(session);
+    GameSessionSummaryDTO summary = summaryOf(session);
     return ResponseEntity.ok(summary);
   }
 
@@ -106,7 +121,9 @@ public class SessionController {
 
     try {
       session = gameSessionService.joinGameSession(sessionId, joiningPlayer);
-      GameSessionSummaryDTO summary = GameSessionSummaryDTO.fromGameSession(session);
+      GameSessionSummaryDTO summary = summaryOf(session);
+      // Deltas do not carry the players, so the creator learns of the opponent from a full snapshot.
+      progressPublisher.publish(summary, "Player joined");
       return ResponseEntity.ok(summary);
     }
     catch (IllegalArgumentException | IllegalStateException e) {
@@ -123,7 +140,7 @@ public class SessionController {
     if (session == null) {
       return ResponseEntity.notFound().build();
     }
-    GameSessionSummaryDTO summary = GameSessionSummaryDTO.fromGameSession(session);
+    GameSessionSummaryDTO summary = summaryOf(session);
     return ResponseEntity.ok(summary);
   }
 
@@ -134,11 +151,54 @@ public class SessionController {
     if (session == null) {
       return ResponseEntity.notFound().build();
     }
-    GameSessionSummaryDTO summary = GameSessionSummaryDTO.fromGameSession(session);
+    GameSessionSummaryDTO summary = summaryOf(session);
     return ResponseEntity.ok(summary.getBoard());
   }
 
 
+  /**
+   * Streams the game's history as newline-delimited JSON, one {@link com.project.reversi.dto.ReplayFrameDTO}
+   * per ply starting with the opening position. Frames are written as they are rebuilt, so the whole
+   * history is never held in memory.
+   */
+  @GetMapping(value = "/{sessionId}/replay", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> replay(@PathVariable String sessionId) {
+    GameSession session = gameService.getSessionById(sessionId);
+    if (session == null) {
+      return ResponseEntity.notFound().build();
+    }
+    // The body is written after this returns, while moves may still be played on the session.
+    int ply;
+    Board board;
+    synchronized (session) {
+      ply = session.getPly();
+      board = session.getBoard().copyBoard();
+    }
+    StreamingResponseBody body = out -> gameReplayService.replay(sessionId, ply, board,
+                                                                 frame -> writeLine(out, frame));
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+  }
+
+  /**
+   * Summary of a session that other requests may be changing: moves are played under the session's
+   * monitor, so reading it under the monitor never sees half a move.
+   */
+  private static GameSessionSummaryDTO summaryOf(GameSession session) {
+    synchronized (session) {
+      return GameSessionSummaryDTO.fromGameSession(session);
+    }
+  }
+
+  private void writeLine(OutputStream out, Object value) {
+    try {
+      out.write(objectMapper.writeValueAsBytes(value));
+      out.write('\n');
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   @GetMapping("/{sessionId}/possible-moves")
   public ResponseEntity<List<MoveDTO>> getPossibleMoves(
       @PathVariable String sessionId,
@@ -149,12 +209,15 @@ public class SessionController {
     if (session == null) {
       return ResponseEntity.badRequest().build();
     }
-    List<MoveDTO> validMoves = session
-        .computeValidMoves(color)
-        .stream()
-        .map(p -> new MoveDTO(p.row(), p.col()))
-        .collect(
-            Collectors.toList());
+    List<MoveDTO> validMoves;
+    synchronized (session) {
+      validMoves = session
+          .computeValidMoves(color)
+          .stream()
+          .map(p -> new MoveDTO(p.row(), p.col()))
+          .collect(
+              Collectors.toList());
+    }
     return ResponseEntity.ok(validMoves);
   }
 
@@ -193,12 +256,13 @@ public class SessionController {
           break;
       }
       GameSession updatedSession = gameService.getSessionById(sessionId);
-      GameSessionSummaryDTO summary = GameSessionSummaryDTO.fromGameSession(updatedSession);
+      GameSessionSummaryDTO summary = summaryOf(updatedSession);
       response.setSessionSummary(summary);
-      simpMessagingTemplate.convertAndSend(
-          "/topic/game-progress/" + response.getSessionSummary().getSessionId(),
-          response
-      );
+      // Subscribers were already sent the change as a delta by the game service.
+      if (result == MoveResult.SUCCESS) {
+        // No-op unless computer replies run asynchronously; they are pushed on the same topic.
+        gameService.resumeComputerTurns(sessionId);
+      }
       return ResponseEntity.ok(response);
     }
     catch (IllegalArgumentException e) {
@@ -206,5 +270,11 @@ public class SessionController {
       response.setMessage("Error: " + e.getMessage());
       return ResponseEntity.badRequest().body(response);
     }
+    catch (SessionBusyException e) {
+      // The move was dropped before it started, so the client can send it again.
+      logger.warn("Move on busy session {} not played: {}", sessionId, e.getMessage());
+      response.setMessage("The game is busy, please try again");
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
   }
 }
@@ -0,0 +1,48 @@
+package com.project.reversi.controllers;
+
+import com.project.reversi.services.GameBroadcastCache;
+import com.project.reversi.services.GameService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Lets anyone watch a game. A spectator subscribes to {@code /topic/game-progress/{sessionId}} for the
+ * live frames, then to {@code /app/spectate/{sessionId}} once, which answers with the frames to catch
+ * up from, see {@link GameBroadcastCache#catchUp}.
+ */
+@Controller
+public class SpectatorController {
+
+  private final GameService gameService;
+  private final GameBroadcastCache broadcastCache;
+  private final MessageChannel clientOutboundChannel;
+
+  public SpectatorController(GameService gameService, GameBroadcastCache broadcastCache,
+                             @Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel) {
+    this.gameService = gameService;
+    this.broadcastCache = broadcastCache;
+    this.clientOutboundChannel = clientOutboundChannel;
+  }
+
+  /**
+   * Replies to the subscriber only. The cached frames are already serialized JSON, so the reply is sent
+   * as is, labelled {@code application/json}; a returned {@code byte[]} would go out as an octet stream.
+   */
+  @SubscribeMapping("/spectate/{sessionId}")
+  public void spectate(@DestinationVariable String sessionId, SimpMessageHeaderAccessor subscription) {
+    byte[] frames = broadcastCache.catchUp(gameService.getSessionById(sessionId));
+    SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    headers.setSessionId(subscription.getSessionId());
+    headers.setSubscriptionId(subscription.getSubscriptionId());
+    headers.setDestination(subscription.getDestination());
+    headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    clientOutboundChannel.send(MessageBuilder.createMessage(frames, headers.getMessageHeaders()));
+  }
+}
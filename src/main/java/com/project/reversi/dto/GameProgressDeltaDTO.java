@@ -0,0 +1,192 @@
+package com.project.reversi.dto;
+
+import com.project.reversi.model.Bitboards;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.Piece;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What changed in a session between two plies, pushed over {@code /topic/game-progress/{sessionId}} in
+ * place of a full {@link GameSessionSummaryDTO}.
+ *
+ * <p>A client applies it only on top of the state it holds at {@code fromPly}, and otherwise resyncs
+ * by fetching the session, whose summary carries its {@code ply}.
+ */
+public class GameProgressDeltaDTO {
+  public static final String TYPE = "DELTA";
+
+  private String sessionId;
+  private int fromPly;
+  private int ply;
+  private List<SquareDTO> placed;
+  private List<SquareDTO> flipped;
+  private int whiteScore;
+  private int blackScore;
+  private String currentPlayerColor;
+  private String currentPlayerNickname;
+  private String gameState;
+  private List<MoveDTO> legalMoves;
+  private String message;
+
+  /**
+   * Diffs {@code before}, the board at {@code fromPly}, against the session's board now.
+   */
+  public static GameProgressDeltaDTO between(Board before, int fromPly, GameSession session, String message) {
+    GameProgressDeltaDTO delta = new GameProgressDeltaDTO();
+    delta.setSessionId(session.getSessionId());
+    delta.setFromPly(fromPly);
+    delta.setPly(session.getPly());
+    delta.setPlaced(new ArrayList<>(2));
+    delta.setFlipped(new ArrayList<>());
+    Board after = session.getBoard();
+    if (before.isBitboardBacked() && after.isBitboardBacked()) {
+      diffBits(before, after, delta);
+    }
+    else {
+      diffCells(before, after, delta);
+    }
+    Player current = session.getCurrentPlayer();
+    delta.setCurrentPlayerColor(current != null ? current.getColor().name() : "N/A");
+    delta.setCurrentPlayerNickname(GameSessionSummaryDTO.resolveNickname(current));
+    delta.setWhiteScore(session.getWhiteScore());
+    delta.setBlackScore(session.getBlackScore());
+    delta.setGameState(session.getGameState().name());
+    delta.setLegalMoves(GameSessionSummaryDTO.legalMovesOf(session));
+    delta.setMessage(message);
+    return delta;
+  }
+
+  private static void diffBits(Board before, Board after, GameProgressDeltaDTO delta) {
+    long blackBefore = before.getBits(PlayerColor.BLACK);
+    long occupiedBefore = blackBefore | before.getBits(PlayerColor.WHITE);
+    long blackAfter = after.getBits(PlayerColor.BLACK);
+    long occupiedAfter = blackAfter | after.getBits(PlayerColor.WHITE);
+    long changed = (occupiedAfter & ~occupiedBefore) | (occupiedBefore & (blackBefore ^ blackAfter));
+    while (changed != 0) {
+      int square = Long.numberOfTrailingZeros(changed);
+      changed &= changed - 1;
+      String color = (blackAfter & 1L << square) != 0 ? PlayerColor.BLACK.name() : PlayerColor.WHITE.name();
+      SquareDTO dto = new SquareDTO(Bitboards.row(square), Bitboards.col(square), color);
+      ((occupiedBefore & 1L << square) == 0 ? delta.getPlaced() : delta.getFlipped()).add(dto);
+    }
+  }
+
+  private static void diffCells(Board before, Board after, GameProgressDeltaDTO delta) {
+    for (int row = 0; row < after.getNumRows(); row++) {
+      for (int col = 0; col < after.getNumColumns(); col++) {
+        Piece was = before.getPiece(row, col);
+        Piece now = after.getPiece(row, col);
+        if (now == null || was != null && was.getColor() == now.getColor()) {
+          continue;
+        }
+        SquareDTO dto = new SquareDTO(row, col, now.getColor().name());
+        (was == null ? delta.getPlaced() : delta.getFlipped()).add(dto);
+      }
+    }
+  }
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  public void setSessionId(String sessionId) {
+    this.sessionId = sessionId;
+  }
+
+  public int getFromPly() {
+    return fromPly;
+  }
+
+  public void setFromPly(int fromPly) {
+    this.fromPly = fromPly;
+  }
+
+  public int getPly() {
+    return ply;
+  }
+
+  public void setPly(int ply) {
+    this.ply = ply;
+  }
+
+  public List<SquareDTO> getPlaced() {
+    return placed;
+  }
+
+  public void setPlaced(List<SquareDTO> placed) {
+    this.placed = placed;
+  }
+
+  public List<SquareDTO> getFlipped() {
+    return flipped;
+  }
+
+  public void setFlipped(List<SquareDTO> flipped) {
+    this.flipped = flipped;
+  }
+
+  public int getWhiteScore() {
+    return whiteScore;
+  }
+
+  public void setWhiteScore(int whiteScore) {
+    this.whiteScore = whiteScore;
+  }
+
+  public int getBlackScore() {
+    return blackScore;
+  }
+
+  public void setBlackScore(int blackScore) {
+    this.blackScore = blackScore;
+  }
+
+  public String getCurrentPlayerColor() {
+    return currentPlayerColor;
+  }
+
+  public void setCurrentPlayerColor(String currentPlayerColor) {
+    this.currentPlayerColor = currentPlayerColor;
+  }
+
+  public String getCurrentPlayerNickname() {
+    return currentPlayerNickname;
+  }
+
+  public void setCurrentPlayerNickname(String currentPlayerNickname) {
+    this.currentPlayerNickname = currentPlayerNickname;
+  }
+
+  public String getGameState() {
+    return gameState;
+  }
+
+  public void setGameState(String gameState) {
+    this.gameState = gameState;
+  }
+
+  public List<MoveDTO> getLegalMoves() {
+    return legalMoves;
+  }
+
+  public void setLegalMoves(List<MoveDTO> legalMoves) {
+    this.legalMoves = legalMoves;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
@@ -18,6 +18,8 @@ public class GameSessionSummaryDTO {
   private int whiteScore;
   private int blackScore;
   private String gameState;
+  private int ply;             // sequence number of the state, see GameProgressDeltaDTO
+  private List<MoveDTO> legalMoves; // moves open to the side to move, so clients need not ask for them
 
   // Getters and setters
 
@@ -101,6 +103,22 @@ public class GameSessionSummaryDTO {
     gameState = name;
   }
 
+  public int getPly() {
+    return ply;
+  }
+
+  public void setPly(int ply) {
+    this.ply = ply;
+  }
+
+  public List<MoveDTO> getLegalMoves() {
+    return legalMoves;
+  }
+
+  public void setLegalMoves(List<MoveDTO> legalMoves) {
+    this.legalMoves = legalMoves;
+  }
+
   public static GameSessionSummaryDTO fromGameSession(GameSession session) {
     GameSessionSummaryDTO summary = new GameSessionSummaryDTO();
     summary.setSessionId(session.getSessionId());
@@ -129,10 +147,18 @@ public class GameSessionSummaryDTO {
     summary.setGameState(session.getGameState().name());
     summary.setWhiteScore(session.getWhiteScore());
     summary.setBlackScore(session.getBlackScore());
+    summary.setPly(session.getPly());
+    summary.setLegalMoves(legalMovesOf(session));
     return summary;
   }
 
-  private static String resolveNickname(Player player) {
+  static List<MoveDTO> legalMovesOf(GameSession session) {
+    return session.computeValidMovesForCurrentPlayer().stream()
+                  .map(position -> new MoveDTO(position.row(), position.col()))
+                  .collect(Collectors.toList());
+  }
+
+  static String resolveNickname(Player player) {
     if (player == null) {
       return "Waiting...";
     }
@@ -0,0 +1,87 @@
+package com.project.reversi.dto;
+
+import com.project.reversi.model.PlayerStats;
+
+/**
+ * A {@link LeaderboardRow} copied from a player's maintained {@link PlayerStats}.
+ */
+public final class LeaderboardEntry implements LeaderboardRow {
+
+  private final long userId;
+  private final String username;
+  private final long games;
+  private final long wins;
+  private final long losses;
+  private final long draws;
+  private final double winRate;
+  private final long rank;
+
+  public LeaderboardEntry(PlayerStats stats, long rank) {
+    this(stats.getUserId(), stats.getUsername(), stats.getGames(), stats.getWins(), stats.getLosses(),
+         stats.getDraws(), stats.getWinRate(), rank);
+  }
+
+  public LeaderboardEntry(long userId, String username, long games, long wins, long losses, long draws,
+                          double winRate, long rank) {
+    this.userId = userId;
+    this.username = username;
+    this.games = games;
+    this.wins = wins;
+    this.losses = losses;
+    this.draws = draws;
+    this.winRate = winRate;
+    this.rank = rank;
+  }
+
+  public LeaderboardEntry withRank(long rank) {
+    return rank == this.rank ? this
+                             : new LeaderboardEntry(userId, username, games, wins, losses, draws, winRate, rank);
+  }
+
+  /**
+   * Whether both players share a place on the leaderboard.
+   */
+  public boolean ranksEqual(LeaderboardEntry other) {
+    return wins == other.wins && winRate == other.winRate && losses == other.losses;
+  }
+
+  @Override
+  public Long getUserId() {
+    return userId;
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public Long getGames() {
+    return games;
+  }
+
+  @Override
+  public Long getWins() {
+    return wins;
+  }
+
+  @Override
+  public Long getLosses() {
+    return losses;
+  }
+
+  @Override
+  public Long getDraws() {
+    return draws;
+  }
+
+  @Override
+  public Double getWinRate() {
+    return winRate;
+  }
+
+  @Override
+  public Long getRank() {
+    return rank;
+  }
+}
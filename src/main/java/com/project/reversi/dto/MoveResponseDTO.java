@@ -1,9 +1,16 @@
 package com.project.reversi.dto;
 
 public class MoveResponseDTO {
+  public static final String TYPE = "SNAPSHOT";
+
   private String message;
   private GameSessionSummaryDTO sessionSummary;
 
+  // Tells a full update apart from a GameProgressDeltaDTO on the same topic
+  public String getType() {
+    return TYPE;
+  }
+
   // Getters and setters
   public String getMessage() {
     return message;
@@ -0,0 +1,96 @@
+package com.project.reversi.dto;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameMove;
+import com.project.reversi.model.PlayerColor;
+
+/**
+ * One position of a game replay: the board after {@code ply} moves, with the move that led to it.
+ * Ply 0 is the starting position and has no move.
+ */
+public class ReplayFrameDTO {
+  private int ply;
+  private String color;      // player who moved; null at ply 0
+  private boolean pass;
+  private MoveDTO move;      // null at ply 0 and for a pass
+  private int whiteScore;
+  private int blackScore;
+  private BoardDTO board;
+
+  public static ReplayFrameDTO start(Board board) {
+    return of(0, null, false, null, board);
+  }
+
+  public static ReplayFrameDTO after(GameMove move, Board board) {
+    MoveDTO square = move.isPass() ? null : new MoveDTO(move.getRow(), move.getCol());
+    return of(move.getPly(), move.getColor().name(), move.isPass(), square, board);
+  }
+
+  private static ReplayFrameDTO of(int ply, String color, boolean pass, MoveDTO move, Board board) {
+    ReplayFrameDTO dto = new ReplayFrameDTO();
+    dto.setPly(ply);
+    dto.setColor(color);
+    dto.setPass(pass);
+    dto.setMove(move);
+    dto.setWhiteScore(board.getPieceCount(PlayerColor.WHITE));
+    dto.setBlackScore(board.getPieceCount(PlayerColor.BLACK));
+    dto.setBoard(BoardDTO.fromBoard(board));
+    return dto;
+  }
+
+  public int getPly() {
+    return ply;
+  }
+
+  public void setPly(int ply) {
+    this.ply = ply;
+  }
+
+  public String getColor() {
+    return color;
+  }
+
+  public void setColor(String color) {
+    this.color = color;
+  }
+
+  public boolean isPass() {
+    return pass;
+  }
+
+  public void setPass(boolean pass) {
+    this.pass = pass;
+  }
+
+  public MoveDTO getMove() {
+    return move;
+  }
+
+  public void setMove(MoveDTO move) {
+    this.move = move;
+  }
+
+  public int getWhiteScore() {
+    return whiteScore;
+  }
+
+  public void setWhiteScore(int whiteScore) {
+    this.whiteScore = whiteScore;
+  }
+
+  public int getBlackScore() {
+    return blackScore;
+  }
+
+  public void setBlackScore(int blackScore) {
+    this.blackScore = blackScore;
+  }
+
+  public BoardDTO getBoard() {
+    return board;
+  }
+
+  public void setBoard(BoardDTO board) {
+    this.board = board;
+  }
+}
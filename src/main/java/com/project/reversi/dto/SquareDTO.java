@@ -0,0 +1,40 @@
+package com.project.reversi.dto;
+
+/**
+ * A board square and the color of the disc now on it.
+ */
+public class SquareDTO {
+  private int row;
+  private int column;
+  private String color;
+
+  public SquareDTO(int row, int column, String color) {
+    this.row = row;
+    this.column = column;
+    this.color = color;
+  }
+
+  public int getRow() {
+    return row;
+  }
+
+  public void setRow(int row) {
+    this.row = row;
+  }
+
+  public int getColumn() {
+    return column;
+  }
+
+  public void setColumn(int column) {
+    this.column = column;
+  }
+
+  public String getColor() {
+    return color;
+  }
+
+  public void setColor(String color) {
+    this.color = color;
+  }
+}
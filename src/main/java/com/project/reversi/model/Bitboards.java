@@ -0,0 +1,98 @@
+package com.project.reversi.model;
+
+/**
+ * Shift-and-mask move generation for 8x8 boards stored as two {@code long}s, one per colour.
+ * Square {@code row * 8 + col} maps to bit {@code row * 8 + col}; nothing here allocates.
+ */
+public final class Bitboards {
+
+  public static final int SIZE = 8;
+  public static final int SQUARES = SIZE * SIZE;
+
+  private static final long NOT_FIRST_COLUMN = 0xFEFEFEFEFEFEFEFEL;
+  private static final long NOT_LAST_COLUMN = 0x7F7F7F7F7F7F7F7FL;
+
+  // Shift amount per direction (positive = left shift) and the mask that drops bits wrapping around a row edge.
+  private static final int[] SHIFTS = {1, -1, 8, -8, 9, -9, 7, -7};
+  private static final long[] MASKS = {
+      NOT_FIRST_COLUMN, NOT_LAST_COLUMN, -1L, -1L,
+      NOT_FIRST_COLUMN, NOT_LAST_COLUMN, NOT_LAST_COLUMN, NOT_FIRST_COLUMN
+  };
+
+  private Bitboards() {
+  }
+
+  public static int square(int row, int col) {
+    return row * SIZE + col;
+  }
+
+  public static int row(int square) {
+    return square >>> 3;
+  }
+
+  public static int col(int square) {
+    return square & 7;
+  }
+
+  private static long shift(long bits, int direction) {
+    int amount = SHIFTS[direction];
+    return (amount > 0 ? bits << amount : bits >>> -amount) & MASKS[direction];
+  }
+
+  /**
+   * Returns the mask of empty squares where {@code player} can move against {@code opponent}.
+   */
+  public static long legalMoves(long player, long opponent) {
+    long empty = ~(player | opponent);
+    // Masking the opponent once stops horizontal and diagonal runs from wrapping around a row edge.
+    long inner = opponent & 0x7E7E7E7E7E7E7E7EL;
+    return (movesLeft(player, inner, 1) | movesRight(player, inner, 1)
+            | movesLeft(player, opponent, 8) | movesRight(player, opponent, 8)
+            | movesLeft(player, inner, 9) | movesRight(player, inner, 9)
+            | movesLeft(player, inner, 7) | movesRight(player, inner, 7)) & empty;
+  }
+
+  private static long movesLeft(long player, long opponent, int amount) {
+    long run = (player << amount) & opponent;
+    run |= (run << amount) & opponent;
+    run |= (run << amount) & opponent;
+    run |= (run << amount) & opponent;
+    run |= (run << amount) & opponent;
+    run |= (run << amount) & opponent;
+    return run << amount;
+  }
+
+  private static long movesRight(long player, long opponent, int amount) {
+    long run = (player >>> amount) & opponent;
+    run |= (run >>> amount) & opponent;
+    run |= (run >>> amount) & opponent;
+    run |= (run >>> amount) & opponent;
+    run |= (run >>> amount) & opponent;
+    run |= (run >>> amount) & opponent;
+    return run >>> amount;
+  }
+
+  /**
+   * Returns the opponent discs flipped when {@code player} moves on {@code square},
+   * or {@code 0} when the move is illegal.
+   */
+  public static long flips(long player, long opponent, int square) {
+    long move = 1L << square;
+    if (((player | opponent) & move) != 0) {
+      return 0L;
+    }
+    long flipped = 0L;
+    for (int direction = 0; direction < 8; direction++) {
+      long run = 0L;
+      long cursor = shift(move, direction);
+      while ((cursor & opponent) != 0) {
+        run |= cursor;
+        cursor = shift(cursor, direction);
+      }
+      if ((cursor & player) != 0) {
+        flipped |= run;
+      }
+    }
+    return flipped;
+  }
+}
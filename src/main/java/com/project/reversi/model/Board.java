@@ -4,11 +4,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+/**
+ * Reversi board. Standard 8x8 boards are backed by two bitboards (see {@link Bitboards});
+ * any other size falls back to a grid of {@link Piece}s.
+ */
 public class Board {
 
   private final int numRows;
   private final int numColumns;
-  private final Piece[][] board;
+  private final Piece[][] board;   // null when the board is bitboard-backed
+  private long blackBits;
+  private long whiteBits;
+  private long hash;               // Zobrist hash of the discs, see Zobrist
+  private Piece[] squareViews;
   private int blackCount;
   private int whiteCount;
 
@@ -16,13 +24,13 @@ public class Board {
   public Board(int nbRows, int nbColumns) {
     numRows = nbRows;
     numColumns = nbColumns;
-    board = new Piece[numRows][numColumns];
+    board = nbRows == Bitboards.SIZE && nbColumns == Bitboards.SIZE ? null : new Piece[numRows][numColumns];
     int middleRow = (numRows - 1) / 2;
     int middleColumn = (numColumns - 1) / 2;
-    board[middleRow][middleColumn] = new Piece(PlayerColor.WHITE);
-    board[middleRow + 1][middleColumn] = new Piece(PlayerColor.BLACK);
-    board[middleRow + 1][middleColumn + 1] = new Piece(PlayerColor.WHITE);
-    board[middleRow][middleColumn + 1] = new Piece(PlayerColor.BLACK);
+    setCell(middleRow, middleColumn, PlayerColor.WHITE);
+    setCell(middleRow + 1, middleColumn, PlayerColor.BLACK);
+    setCell(middleRow + 1, middleColumn + 1, PlayerColor.WHITE);
+    setCell(middleRow, middleColumn + 1, PlayerColor.BLACK);
     blackCount = 2;
     whiteCount = 2;
   }
@@ -39,7 +47,32 @@ public class Board {
     return board;
   }
 
+  /**
+   * 8x8 board holding exactly the discs in {@code blackBits} and {@code whiteBits}.
+   */
+  public static Board fromBits(long blackBits, long whiteBits) {
+    if ((blackBits & whiteBits) != 0) {
+      throw new IllegalArgumentException("A square cannot hold both colors");
+    }
+    Board board = new Board(Bitboards.SIZE, Bitboards.SIZE);
+    board.blackBits = blackBits;
+    board.whiteBits = whiteBits;
+    board.hash = Zobrist.hash(blackBits, whiteBits);
+    board.blackCount = Long.bitCount(blackBits);
+    board.whiteCount = Long.bitCount(whiteBits);
+    return board;
+  }
+
   public Board copyBoard() {
+    if (isBitboardBacked()) {
+      Board boardCopy = new Board(numRows, numColumns);
+      boardCopy.blackBits = blackBits;
+      boardCopy.whiteBits = whiteBits;
+      boardCopy.hash = hash;
+      boardCopy.blackCount = blackCount;
+      boardCopy.whiteCount = whiteCount;
+      return boardCopy;
+    }
     List<List<String>> snapshot = new ArrayList<>();
     for (int i = 0; i < numRows; i++) {
       snapshot.add(new ArrayList<>(numColumns));
@@ -72,13 +105,35 @@ public class Board {
       for (int j = 0; j < numColumns; j++) {
         String val = snapshot.get(i).get(j);
         if ("B".equalsIgnoreCase(val)) {
-          board[i][j] = new Piece(PlayerColor.BLACK);
+          setCell(i, j, PlayerColor.BLACK);
           blackCount++;
         } else if ("W".equalsIgnoreCase(val)) {
-          board[i][j] = new Piece(PlayerColor.WHITE);
+          setCell(i, j, PlayerColor.WHITE);
           whiteCount++;
         } else {
-          board[i][j] = null;
+          setCell(i, j, null);
+        }
+      }
+    }
+  }
+
+  /**
+   * Replaces every cell, row by row; {@code null} marks an empty square.
+   */
+  void loadCells(PlayerColor[] cells) {
+    if (cells.length != numRows * numColumns) {
+      throw new IllegalArgumentException("Cell count does not match board size");
+    }
+    blackCount = 0;
+    whiteCount = 0;
+    for (int i = 0; i < numRows; i++) {
+      for (int j = 0; j < numColumns; j++) {
+        PlayerColor color = cells[i * numColumns + j];
+        setCell(i, j, color);
+        if (color == PlayerColor.BLACK) {
+          blackCount++;
+        } else if (color == PlayerColor.WHITE) {
+          whiteCount++;
         }
       }
     }
@@ -87,7 +142,8 @@ public class Board {
   public void printBoard() {
     for (int i = 0; i < numRows; i++) {
       for (int j = 0; j < numColumns; j++) {
-        System.out.println(board[i][j] != null ? board[i][j].toString() : "-");
+        Piece piece = getPiece(i, j);
+        System.out.println(piece != null ? piece.toString() : "-");
         System.out.print(",");
       }
       System.out.println();
@@ -102,7 +158,15 @@ public class Board {
   public List<Piece> computeFlips(final int row, final int column, final PlayerColor color) {
     List<Piece> flippedPieces = new ArrayList<>();
     // Check if the move is out-of-bounds or the cell is already occupied.
-    if (isOutOfBounds(row, column) || board[row][column] != null) {
+    if (isOutOfBounds(row, column) || getPiece(row, column) != null) {
+      return flippedPieces;
+    }
+    if (isBitboardBacked()) {
+      long flips = computeFlipMask(row, column, color);
+      while (flips != 0) {
+        flippedPieces.add(squareView(Long.numberOfTrailingZeros(flips)));
+        flips &= flips - 1;
+      }
       return flippedPieces;
     }
     // Define all 8 possible directions.
@@ -135,12 +199,119 @@ public class Board {
 
   }
 
+  /**
+   * Bitboard counterpart of {@link #computeFlips}: the mask of discs flipped by the move,
+   * or {@code 0} when the move is illegal. Only available on 8x8 boards.
+   */
+  public long computeFlipMask(int row, int column, PlayerColor color) {
+    requireBitboard();
+    if (isOutOfBounds(row, column)) {
+      return 0L;
+    }
+    return Bitboards.flips(getBits(color), getBits(color.opposite()), Bitboards.square(row, column));
+  }
+
+  /**
+   * Square-indexed variant of {@link #computeFlipMask(int, int, PlayerColor)}, for search loops
+   * that walk a {@link #legalMoveMask} bit by bit.
+   */
+  public long computeFlipMask(int square, PlayerColor color) {
+    requireBitboard();
+    return Bitboards.flips(getBits(color), getBits(color.opposite()), square);
+  }
+
+  /**
+   * Mask of the squares where {@code color} can move. Only available on 8x8 boards.
+   */
+  public long legalMoveMask(PlayerColor color) {
+    requireBitboard();
+    return Bitboards.legalMoves(getBits(color), getBits(color.opposite()));
+  }
+
+  public boolean hasLegalMove(PlayerColor color) {
+    if (isBitboardBacked()) {
+      return legalMoveMask(color) != 0;
+    }
+    for (int row = 0; row < numRows; row++) {
+      for (int col = 0; col < numColumns; col++) {
+        if (!computeFlips(row, col, color).isEmpty()) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Legal moves for {@code color} in row-major order.
+   */
+  public List<Position> legalMoves(PlayerColor color) {
+    List<Position> moves = new ArrayList<>();
+    if (isBitboardBacked()) {
+      long mask = legalMoveMask(color);
+      while (mask != 0) {
+        int square = Long.numberOfTrailingZeros(mask);
+        moves.add(new Position(Bitboards.row(square), Bitboards.col(square)));
+        mask &= mask - 1;
+      }
+      return moves;
+    }
+    for (int row = 0; row < numRows; row++) {
+      for (int col = 0; col < numColumns; col++) {
+        if (!computeFlips(row, col, color).isEmpty()) {
+          moves.add(new Position(row, col));
+        }
+      }
+    }
+    return moves;
+  }
+
   public void applyMove(int row, int col, PlayerColor color, List<Piece> flips) {
     placePiece(row, col, color);
     flips.forEach(Piece::flip);
     updateScore(color, flips.size() + 1);
   }
 
+  /**
+   * Plays {@code square} for {@code color} using a flip mask from {@link #computeFlipMask}.
+   * Allocation-free; {@link #unmake} with the same arguments restores the exact prior state.
+   */
+  public void make(int square, long flips, PlayerColor color) {
+    requireBitboard();
+    long placed = (1L << square) | flips;
+    int flipped = Long.bitCount(flips);
+    hash ^= Zobrist.disc(color, square) ^ Zobrist.flips(flips);
+    if (color == PlayerColor.BLACK) {
+      blackBits |= placed;
+      whiteBits &= ~flips;
+      blackCount += flipped + 1;
+      whiteCount -= flipped;
+    } else {
+      whiteBits |= placed;
+      blackBits &= ~flips;
+      whiteCount += flipped + 1;
+      blackCount -= flipped;
+    }
+  }
+
+  public void unmake(int square, long flips, PlayerColor color) {
+    requireBitboard();
+    long placed = (1L << square) | flips;
+    int flipped = Long.bitCount(flips);
+    hash ^= Zobrist.disc(color, square) ^ Zobrist.flips(flips);
+    if (color == PlayerColor.BLACK) {
+      blackBits &= ~placed;
+      whiteBits |= flips;
+      blackCount -= flipped + 1;
+      whiteCount += flipped;
+    } else {
+      whiteBits &= ~placed;
+      blackBits |= flips;
+      whiteCount -= flipped + 1;
+      blackCount += flipped;
+    }
+  }
+
   public boolean makeMove(int row,int col,PlayerColor color){
      List<Piece> flips = computeFlips(row,col,color);
      if(flips.isEmpty()){
@@ -151,7 +322,26 @@ public class Board {
   }
 
   private void placePiece(int row, int col, PlayerColor color) {
-    board[row][col] = new Piece(color);
+    setCell(row, col, color);
+  }
+
+  private void setCell(int row, int col, PlayerColor color) {
+    if (board != null) {
+      board[row][col] = color != null ? new Piece(color) : null;
+      return;
+    }
+    int square = Bitboards.square(row, col);
+    long bit = 1L << square;
+    if ((blackBits & bit) != 0) {
+      hash ^= Zobrist.disc(PlayerColor.BLACK, square);
+    } else if ((whiteBits & bit) != 0) {
+      hash ^= Zobrist.disc(PlayerColor.WHITE, square);
+    }
+    if (color != null) {
+      hash ^= Zobrist.disc(color, square);
+    }
+    blackBits = color == PlayerColor.BLACK ? blackBits | bit : blackBits & ~bit;
+    whiteBits = color == PlayerColor.WHITE ? whiteBits | bit : whiteBits & ~bit;
   }
 
 
@@ -182,7 +372,7 @@ public class Board {
     for (Piece piece : cellsCaptured) {
       piece.flip();
     }
-    board[row][col] = null;
+    setCell(row, col, null);
     updateScoreUndo(color.opposite(), cellsCaptured.size());
   }
 
@@ -232,8 +422,50 @@ public class Board {
     return numColumns;
   }
 
+  public boolean isBitboardBacked() {
+    return board == null;
+  }
+
+  /**
+   * Occupancy mask of {@code color}. Only available on 8x8 boards.
+   */
+  public long getBits(PlayerColor color) {
+    requireBitboard();
+    return color == PlayerColor.BLACK ? blackBits : whiteBits;
+  }
+
+  /**
+   * Zobrist hash of the discs on the board, kept up to date by every move. Only available on 8x8 boards.
+   */
+  public long getHash() {
+    requireBitboard();
+    return hash;
+  }
+
   public Piece getPiece(int row, int column) {
-    return board[row][column];
+    if (board != null) {
+      return board[row][column];
+    }
+    int square = Bitboards.square(row, column);
+    return ((blackBits | whiteBits) & (1L << square)) != 0 ? squareView(square) : null;
+  }
+
+  private void requireBitboard() {
+    if (board != null) {
+      throw new IllegalStateException("Bitboard operations require an 8x8 board");
+    }
+  }
+
+  private Piece squareView(int square) {
+    if (squareViews == null) {
+      squareViews = new Piece[Bitboards.SQUARES];
+    }
+    Piece view = squareViews[square];
+    if (view == null) {
+      view = new SquarePiece(square);
+      squareViews[square] = view;
+    }
+    return view;
   }
 
   @Override
@@ -241,11 +473,44 @@ public class Board {
     StringBuilder sb = new StringBuilder();
     for (int i = 0; i < numRows; i++) {
       for (int j = 0; j < numColumns; j++) {
-        sb.append(board[i][j] != null ? board[i][j] : "-");
+        Piece piece = getPiece(i, j);
+        sb.append(piece != null ? piece : "-");
         sb.append(",");
       }
       sb.append("\n");
     }
     return sb.toString();
   }
+
+  /**
+   * Live view of one bitboard square, so the {@link Piece}-based API keeps working on 8x8 boards.
+   */
+  private final class SquarePiece extends Piece {
+
+    private final int square;
+    private final long bit;
+
+    private SquarePiece(int square) {
+      super(null);
+      this.square = square;
+      this.bit = 1L << square;
+    }
+
+    @Override
+    public PlayerColor getColor() {
+      if ((blackBits & bit) != 0) {
+        return PlayerColor.BLACK;
+      }
+      return (whiteBits & bit) != 0 ? PlayerColor.WHITE : null;
+    }
+
+    @Override
+    public void flip() {
+      if (((blackBits | whiteBits) & bit) != 0) {
+        blackBits ^= bit;
+        whiteBits ^= bit;
+        hash ^= Zobrist.flip(square);
+      }
+    }
+  }
 }
@@ -7,8 +7,32 @@ import com.fasterxml.jackson.databind.type.CollectionType;
 
 import java.util.List;
 
+/**
+ * Persisted form of a {@link Board}.
+ *
+ * <p>Boards are stored in a compact binary format whose first byte is the format version:
+ * <ul>
+ *   <li>{@link #BITBOARD_FORMAT}: 8x8 boards, followed by the black then the white bitboard as
+ *       big-endian longs (17 bytes in total);</li>
+ *   <li>{@link #PACKED_FORMAT}: any other size, followed by the row and column counts (one byte each)
+ *       and the cells row by row, four per byte, two bits each (0 empty, 1 black, 2 white), lowest bits
+ *       first.</li>
+ * </ul>
+ * Rows written before the binary format hold the board as a JSON grid of strings; they are read with
+ * {@link #decodeLegacyJson(String)}.
+ */
 public final class BoardStateCodec {
 
+  public static final byte BITBOARD_FORMAT = 1;
+  public static final byte PACKED_FORMAT = 2;
+
+  private static final int BITBOARD_LENGTH = 1 + 2 * Long.BYTES;
+  private static final int PACKED_HEADER_LENGTH = 3;
+  private static final int MAX_DIMENSION = 0xFF;
+  private static final int EMPTY_CELL = 0;
+  private static final int BLACK_CELL = 1;
+  private static final int WHITE_CELL = 2;
+
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
   private static final CollectionType LIST_OF_LISTS_TYPE = OBJECT_MAPPER.getTypeFactory()
       .constructCollectionType(List.class,
@@ -17,19 +41,58 @@ public final class BoardStateCodec {
   private BoardStateCodec() {
   }
 
-  public static String encode(Board board) {
+  public static byte[] encode(Board board) {
     if (board == null) {
       return null;
     }
-    try {
-      return OBJECT_MAPPER.writeValueAsString(BoardDTO.fromBoard(board).getBoardCells());
+    if (board.isBitboardBacked()) {
+      byte[] data = new byte[BITBOARD_LENGTH];
+      data[0] = BITBOARD_FORMAT;
+      writeLong(data, 1, board.getBits(PlayerColor.BLACK));
+      writeLong(data, 1 + Long.BYTES, board.getBits(PlayerColor.WHITE));
+      return data;
     }
-    catch (JsonProcessingException e) {
-      throw new IllegalStateException("Failed to serialize board state", e);
+    int rows = board.getNumRows();
+    int columns = board.getNumColumns();
+    if (rows > MAX_DIMENSION || columns > MAX_DIMENSION) {
+      throw new IllegalArgumentException("Board too large to encode: " + rows + "x" + columns);
+    }
+    byte[] data = new byte[PACKED_HEADER_LENGTH + (rows * columns + 3) / 4];
+    data[0] = PACKED_FORMAT;
+    data[1] = (byte) rows;
+    data[2] = (byte) columns;
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        Piece piece = board.getPiece(row, column);
+        int cell = piece == null ? EMPTY_CELL : piece.getColor() == PlayerColor.BLACK ? BLACK_CELL : WHITE_CELL;
+        int index = row * columns + column;
+        data[PACKED_HEADER_LENGTH + (index >> 2)] |= (byte) (cell << ((index & 3) << 1));
+      }
     }
+    return data;
   }
 
-  public static Board decode(String payload) {
+  public static Board decode(byte[] data) {
+    if (data == null || data.length == 0) {
+      return null;
+    }
+    switch (data[0]) {
+      case BITBOARD_FORMAT:
+        if (data.length != BITBOARD_LENGTH) {
+          throw new IllegalStateException("Corrupt board state: expected " + BITBOARD_LENGTH + " bytes");
+        }
+        return Board.fromBits(readLong(data, 1), readLong(data, 1 + Long.BYTES));
+      case PACKED_FORMAT:
+        return decodePacked(data);
+      default:
+        throw new IllegalStateException("Unknown board state format: " + data[0]);
+    }
+  }
+
+  /**
+   * Reads a board stored as a JSON grid of {@code "B"}, {@code "W"} and empty cells.
+   */
+  public static Board decodeLegacyJson(String payload) {
     if (payload == null || payload.isBlank()) {
       return null;
     }
@@ -41,4 +104,54 @@ public final class BoardStateCodec {
       throw new IllegalStateException("Failed to deserialize board state", e);
     }
   }
+
+  /**
+   * Writes the legacy JSON grid; kept for comparing against the binary format.
+   */
+  public static String encodeLegacyJson(Board board) {
+    if (board == null) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.writeValueAsString(BoardDTO.fromBoard(board).getBoardCells());
+    }
+    catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize board state", e);
+    }
+  }
+
+  private static Board decodePacked(byte[] data) {
+    if (data.length < PACKED_HEADER_LENGTH) {
+      throw new IllegalStateException("Corrupt board state: missing dimensions");
+    }
+    int rows = data[1] & 0xFF;
+    int columns = data[2] & 0xFF;
+    int cellCount = rows * columns;
+    if (rows == 0 || columns == 0 || data.length != PACKED_HEADER_LENGTH + (cellCount + 3) / 4) {
+      throw new IllegalStateException("Corrupt board state: bad length for " + rows + "x" + columns);
+    }
+    PlayerColor[] cells = new PlayerColor[cellCount];
+    for (int index = 0; index < cellCount; index++) {
+      int cell = (data[PACKED_HEADER_LENGTH + (index >> 2)] >> ((index & 3) << 1)) & 3;
+      cells[index] = cell == BLACK_CELL ? PlayerColor.BLACK : cell == WHITE_CELL ? PlayerColor.WHITE : null;
+    }
+    Board board = new Board(rows, columns);
+    board.loadCells(cells);
+    return board;
+  }
+
+  private static void writeLong(byte[] data, int offset, long value) {
+    for (int i = Long.BYTES - 1; i >= 0; i--) {
+      data[offset + i] = (byte) value;
+      value >>>= 8;
+    }
+  }
+
+  private static long readLong(byte[] data, int offset) {
+    long value = 0;
+    for (int i = 0; i < Long.BYTES; i++) {
+      value = (value << 8) | (data[offset + i] & 0xFF);
+    }
+    return value;
+  }
 }
@@ -0,0 +1,7 @@
+package com.project.reversi.model;
+
+/**
+ * Published when a session that {@link GameSession#finish() finished} is saved.
+ */
+public record GameFinishedEvent(String sessionId, GameType gameType, GameState result) {
+}
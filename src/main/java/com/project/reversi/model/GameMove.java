@@ -0,0 +1,96 @@
+package com.project.reversi.model;
+
+import javax.persistence.*;
+
+/**
+ * One entry of a session's append-only move log: a disc placed, or a pass, at a given ply (1-based).
+ */
+@Entity
+@Table(name = "game_move",
+       uniqueConstraints = @UniqueConstraint(name = "uk_game_move_session_ply", columnNames = {"session_id", "ply"}))
+public class GameMove {
+
+  // Sequence ids, unlike identity columns, let Hibernate batch the inserts.
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_move_seq")
+  @SequenceGenerator(name = "game_move_seq", sequenceName = "game_move_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "session_id", nullable = false, length = 36)
+  private String sessionId;
+
+  @Column(name = "ply", nullable = false)
+  private int ply;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "color", nullable = false)
+  private PlayerColor color;
+
+  @Column(name = "is_pass", nullable = false)
+  private boolean pass;
+
+  // Null for a pass
+  @Column(name = "move_row")
+  private Integer row;
+
+  @Column(name = "move_col")
+  private Integer col;
+
+  protected GameMove() {
+  }
+
+  private GameMove(String sessionId, int ply, PlayerColor color, boolean pass, Integer row, Integer col) {
+    this.sessionId = sessionId;
+    this.ply = ply;
+    this.color = color;
+    this.pass = pass;
+    this.row = row;
+    this.col = col;
+  }
+
+  public static GameMove placed(String sessionId, int ply, PlayerColor color, int row, int col) {
+    return new GameMove(sessionId, ply, color, false, row, col);
+  }
+
+  public static GameMove passed(String sessionId, int ply, PlayerColor color) {
+    return new GameMove(sessionId, ply, color, true, null, null);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  public int getPly() {
+    return ply;
+  }
+
+  public PlayerColor getColor() {
+    return color;
+  }
+
+  public boolean isPass() {
+    return pass;
+  }
+
+  public Integer getRow() {
+    return row;
+  }
+
+  public Integer getCol() {
+    return col;
+  }
+
+  @Override
+  public String toString() {
+    return "GameMove{" +
+           "sessionId='" + sessionId + '\'' +
+           ", ply=" + ply +
+           ", color=" + color +
+           (pass ? ", pass" : ", row=" + row + ", col=" + col) +
+           '}';
+  }
+}
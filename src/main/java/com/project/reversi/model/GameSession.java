@@ -1,6 +1,8 @@
 package com.project.reversi.model;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.DomainEvents;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -19,6 +21,7 @@ import javax.persistence.Transient;
 import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +31,8 @@ import static com.project.reversi.model.PlayerColor.WHITE;
 
 @Entity
 @Table(name = "game_session")
+// Only changed columns are written, so a move that is logged rather than snapshotted leaves board_data alone.
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
 public class GameSession {
 
@@ -57,13 +62,37 @@ public class GameSession {
 
   @Transient
   private Board board;
-  // The game board
+  // Snapshot of the board at snapshotPly, see BoardStateCodec (VARBINARY on H2, BYTEA on PostgreSQL)
+  @Column(name = "board_data", length = 1024)
+  private byte[] boardData;
+  // Board of rows saved before the binary format, as JSON; cleared the next time the row is updated
   @Column(name = "board_state", columnDefinition = "TEXT")
   private String boardState;
 
+  // Moves and passes played so far, see GameMove
+  @Column(name = "ply", columnDefinition = "integer default 0 not null")
+  private int ply;
+  // Ply the board snapshot was taken at; the board is the snapshot plus the logged moves after it
+  @Column(name = "snapshot_ply", columnDefinition = "integer default 0 not null")
+  private int snapshotPly;
+  // Moves played since the last save that are not in the move log yet
+  @Transient
+  private List<GameMove> unloggedMoves = new ArrayList<>();
+  // Legal moves of each color, by ordinal, with the position they were generated for
+  @Transient
+  private final LegalMoves[] legalMoves = new LegalMoves[PlayerColor.values().length];
+
   @Version
   private Integer version;
 
+  // Set once the result has been counted in PlayerStats, or for games that do not count once finished;
+  // only ever written by a guarded bulk update
+  @Column(name = "result_recorded", updatable = false, columnDefinition = "boolean default false not null")
+  private boolean resultRecorded;
+  // Kept until the session is dropped, so a save that is rolled back and retried publishes it again
+  @Transient
+  private GameFinishedEvent finishedEvent;
+
   /**
    * Creates a new game session.
    * For PLAYER_VS_COMPUTER, the computer player is automatically added.
@@ -74,7 +103,7 @@ public class GameSession {
     this.gameType = gameType;
     this.currentTurnIndex = 0;
     this.board = board;
-    this.boardState = BoardStateCodec.encode(board);
+    this.boardData = BoardStateCodec.encode(board);
     this.players = new ArrayList<>(2);
 
     // Add the creator as Player 1 (seat 0).
@@ -204,31 +233,190 @@ public class GameSession {
            '}';
   }
 
+  public Integer getVersion() {
+    return version;
+  }
+
+  // Keeps a session that stays detached across saves in step with its row, see GameSessionCache.
+  public void setVersion(Integer version) {
+    this.version = version;
+  }
+
+  public int getPly() {
+    return ply;
+  }
+
+  public int getSnapshotPly() {
+    return snapshotPly;
+  }
+
+  // The persisted board snapshot, see storeBoardState.
+  public byte[] getBoardData() {
+    return boardData;
+  }
+
+  /**
+   * Whether a player has joined since the session was last saved.
+   */
+  public boolean hasUnsavedPlayers() {
+    return players != null && players.stream().anyMatch(player -> player != null && player.getId() == null);
+  }
+
+  /**
+   * Copy of the position for a computer search that runs without holding this session: same id, players
+   * and ply, on a copy of the board. Never saved.
+   */
+  public GameSession searchSnapshot() {
+    GameSession copy = new GameSession();
+    copy.sessionId = sessionId;
+    copy.gameType = gameType;
+    copy.gameState = gameState;
+    copy.currentTurnIndex = currentTurnIndex;
+    copy.whiteScore = whiteScore;
+    copy.blackScore = blackScore;
+    copy.players.addAll(players);
+    copy.board = board.copyBoard();
+    copy.ply = ply;
+    return copy;
+  }
+
+  /**
+   * Plays a disc for {@code color} and records it for the move log.
+   *
+   * @return false, leaving the session unchanged, if the move is not legal
+   */
+  public boolean playMove(int row, int column, PlayerColor color) {
+    if (!board.makeMove(row, column, color)) {
+      return false;
+    }
+    unloggedMoves.add(GameMove.placed(sessionId, ++ply, color, row, column));
+    return true;
+  }
+
+  /**
+   * The current player passes.
+   */
+  public void passTurn() {
+    Player current = getCurrentPlayer();
+    if (current != null) {
+      unloggedMoves.add(GameMove.passed(sessionId, ++ply, current.getColor()));
+    }
+    advanceTurnWithPass();
+  }
+
+  /**
+   * Returns the moves played since the last call, for appending to the move log.
+   */
+  public List<GameMove> drainUnloggedMoves() {
+    List<GameMove> moves = unloggedMoves;
+    unloggedMoves = new ArrayList<>();
+    return moves;
+  }
+
+  /**
+   * Puts back moves taken by {@link #drainUnloggedMoves()} whose write was rolled back, ahead of any
+   * played since.
+   */
+  public void restoreUnloggedMoves(List<GameMove> moves) {
+    unloggedMoves.addAll(0, moves);
+  }
+
+  /**
+   * Brings a board loaded from its snapshot up to date with the logged moves after it.
+   *
+   * @param tail the logged moves from {@code snapshotPly + 1} to {@code ply}, in order
+   */
+  public void replay(List<GameMove> tail) {
+    int expected = snapshotPly;
+    for (GameMove move : tail) {
+      boolean replayed = move.isPass() || board.makeMove(move.getRow(), move.getCol(), move.getColor());
+      if (move.getPly() != ++expected || !replayed) {
+        throw new IllegalStateException("Move log of session " + sessionId + " does not replay at ply " + move.getPly());
+      }
+    }
+    if (expected != ply) {
+      throw new IllegalStateException("Move log of session " + sessionId + " ends at ply " + expected
+                                      + ", expected " + ply);
+    }
+  }
+
+  /**
+   * Whether the next save should rewrite the board snapshot rather than only log moves.
+   */
+  public boolean isSnapshotDue(int snapshotInterval) {
+    return boardData == null || isFinished() || ply - snapshotPly >= snapshotInterval;
+  }
+
+  /**
+   * Writes the board into its persisted column as of the current ply. Needed before a detached session
+   * is saved, since only persisted columns are written.
+   */
+  public void storeBoardState() {
+    this.boardData = BoardStateCodec.encode(board);
+    this.snapshotPly = ply;
+    this.boardState = null;
+    this.unloggedMoves.clear();
+  }
+
+  /**
+   * Takes over the live board of {@code merged}, the detached copy whose state was just merged into this
+   * instance. Merging copies persisted columns only, which hold the last snapshot rather than the board.
+   */
+  public void takeBoardFrom(GameSession merged) {
+    if (merged != this) {
+      this.board = merged.board;
+    }
+  }
+
   @PreUpdate
   protected void onUpdate() {
-    this.boardState = BoardStateCodec.encode(board);
+    // Moves that were not written to the move log only survive in a snapshot.
+    if (boardData == null || !unloggedMoves.isEmpty()) {
+      storeBoardState();
+    }
   }
 
   @PostLoad
   protected void postLoad() {
-    board = BoardStateCodec.decode(boardState);
+    board = boardData != null ? BoardStateCodec.decode(boardData) : BoardStateCodec.decodeLegacyJson(boardState);
   }
 
   public boolean hasValidMove(PlayerColor color) {
-    return !computeValidMoves(color).isEmpty();
+    return getBoard().hasLegalMove(color);
   }
 
+  /**
+   * Legal moves for {@code color}, generated once per position: the summary and the progress events of
+   * a turn share them. The cache is keyed on the board's discs, so any change to the board, through the
+   * session or not, regenerates them. Boards without bitboards are not cached.
+   */
   public List<Position> computeValidMoves(PlayerColor color) {
-    List<Position> validMoves = new ArrayList<>();
-    for (int row = 0; row < getBoard().getNumRows(); row++) {
-      for (int col = 0; col < getBoard().getNumColumns(); col++) {
-        List<Piece> result = getBoard().computeFlips(row, col, color);
-        if (!result.isEmpty()) {
-          validMoves.add(new Position(row,col));
-        }
-      }
+    Board current = getBoard();
+    if (!current.isBitboardBacked()) {
+      return List.copyOf(current.legalMoves(color));
+    }
+    long blackBits = current.getBits(BLACK);
+    long whiteBits = current.getBits(WHITE);
+    LegalMoves cached = legalMoves[color.ordinal()];
+    if (cached == null || !cached.isFor(current, blackBits, whiteBits)) {
+      cached = new LegalMoves(current, blackBits, whiteBits, List.copyOf(current.legalMoves(color)));
+      legalMoves[color.ordinal()] = cached;
+    }
+    return cached.moves();
+  }
+
+  /**
+   * Legal moves of the side to move, or none once the game is over.
+   */
+  public List<Position> computeValidMovesForCurrentPlayer() {
+    Player current = getCurrentPlayer();
+    return current == null || isFinished() ? List.of() : computeValidMoves(current.getColor());
+  }
+
+  private record LegalMoves(Board board, long blackBits, long whiteBits, List<Position> moves) {
+    boolean isFor(Board other, long otherBlackBits, long otherWhiteBits) {
+      return board == other && blackBits == otherBlackBits && whiteBits == otherWhiteBits;
     }
-    return validMoves;
   }
 
 
@@ -252,6 +440,15 @@ public class GameSession {
     } else {
       gameState = GameState.TIE;
     }
+    finishedEvent = new GameFinishedEvent(sessionId, gameType, gameState);
+  }
+
+  /**
+   * Published by the repository each time the session is saved; listeners must be idempotent.
+   */
+  @DomainEvents
+  protected Collection<GameFinishedEvent> domainEvents() {
+    return finishedEvent == null ? List.of() : List.of(finishedEvent);
   }
   /**
    * Updates scores
@@ -263,7 +460,9 @@ public class GameSession {
 
   public void advanceTurnWithPass() {
     advanceTurn(); // switch to next player
-    if (getCurrentPlayer() != null && !hasValidMove(getCurrentPlayer().getColor())) {
+    Player next = getCurrentPlayer();
+    if (next != null && !hasValidMove(next.getColor())) {
+      unloggedMoves.add(GameMove.passed(sessionId, ++ply, next.getColor()));
       advanceTurn(); // pass
     }
   }
@@ -0,0 +1,131 @@
+package com.project.reversi.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Perft: counts the leaf positions of the full game tree to a fixed depth, to check move generation
+ * against known totals and to measure its raw speed.
+ *
+ * <p>A pass counts as a ply. A game that ends before the requested depth counts as one leaf.
+ * Only 8x8 (bitboard-backed) boards are supported.
+ */
+public final class Perft {
+
+  // Positions handed to each worker thread when splitting the tree for a parallel count.
+  private static final int TASKS_PER_THREAD = 8;
+
+  private Perft() {
+  }
+
+  /**
+   * Leaf count for the player to move in {@code session}.
+   */
+  public static long perft(GameSession session, int depth) {
+    return perft(session.getBoard(), session.getCurrentPlayer().getColor(), depth);
+  }
+
+  public static long perft(Board board, PlayerColor toMove, int depth) {
+    requireArguments(board, depth);
+    return count(board.copyBoard(), toMove, depth, false);
+  }
+
+  /**
+   * Same count as {@link #perft(Board, PlayerColor, int)}, with the subtrees below the first plies
+   * shared out over {@code threads} threads.
+   */
+  public static long parallelPerft(Board board, PlayerColor toMove, int depth, int threads) {
+    requireArguments(board, depth);
+    if (threads < 1) {
+      throw new IllegalArgumentException("Perft needs at least one thread");
+    }
+    List<Node> frontier = new ArrayList<>();
+    frontier.add(new Node(board.copyBoard(), toMove, depth, false));
+    long settled = 0;
+    // Expand breadth-first until there is enough work to keep every thread busy.
+    while (frontier.size() < threads * TASKS_PER_THREAD && !frontier.isEmpty()) {
+      List<Node> next = new ArrayList<>();
+      for (Node node : frontier) {
+        settled += expand(node, next);
+      }
+      frontier = next;
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      List<ForkJoinTask<Long>> tasks = new ArrayList<>(frontier.size());
+      for (Node node : frontier) {
+        tasks.add(pool.submit(() -> count(node.board, node.toMove, node.depth, node.passed)));
+      }
+      long total = settled;
+      for (ForkJoinTask<Long> task : tasks) {
+        total += task.join();
+      }
+      return total;
+    }
+    finally {
+      pool.shutdown();
+    }
+  }
+
+  private static long count(Board board, PlayerColor toMove, int depth, boolean passed) {
+    if (depth == 0) {
+      return 1;
+    }
+    long moves = board.legalMoveMask(toMove);
+    if (moves == 0) {
+      return passed ? 1 : count(board, toMove.opposite(), depth - 1, true);
+    }
+    if (depth == 1) {
+      return Long.bitCount(moves);
+    }
+    long leaves = 0;
+    while (moves != 0) {
+      int square = Long.numberOfTrailingZeros(moves);
+      moves &= moves - 1;
+      long flips = board.computeFlipMask(square, toMove);
+      board.make(square, flips, toMove);
+      leaves += count(board, toMove.opposite(), depth - 1, false);
+      board.unmake(square, flips, toMove);
+    }
+    return leaves;
+  }
+
+  /**
+   * Adds the children of {@code node} to {@code children} and returns the leaves it settles directly.
+   */
+  private static long expand(Node node, List<Node> children) {
+    if (node.depth == 0) {
+      return 1;
+    }
+    long moves = node.board.legalMoveMask(node.toMove);
+    if (moves == 0) {
+      if (node.passed) {
+        return 1;
+      }
+      children.add(new Node(node.board, node.toMove.opposite(), node.depth - 1, true));
+      return 0;
+    }
+    while (moves != 0) {
+      int square = Long.numberOfTrailingZeros(moves);
+      moves &= moves - 1;
+      Board child = node.board.copyBoard();
+      child.make(square, child.computeFlipMask(square, node.toMove), node.toMove);
+      children.add(new Node(child, node.toMove.opposite(), node.depth - 1, false));
+    }
+    return 0;
+  }
+
+  private static void requireArguments(Board board, int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Perft depth must not be negative");
+    }
+    if (!board.isBitboardBacked()) {
+      throw new IllegalStateException("Perft requires an 8x8 board");
+    }
+  }
+
+  private record Node(Board board, PlayerColor toMove, int depth, boolean passed) {}
+}
@@ -10,7 +10,7 @@ public class Piece {
   }
 
   public String toString() {
-    return color == PlayerColor.WHITE ? "W" : "B";
+    return getColor() == PlayerColor.WHITE ? "W" : "B";
   }
 
   public void flip() {
@@ -0,0 +1,98 @@
+package com.project.reversi.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * A user's results over their finished PLAYER_VS_PLAYER games, kept up to date as games finish so the
+ * leaderboard never has to aggregate the game history.
+ */
+@Entity
+@Table(name = "player_stats",
+       // Leaderboard order, so a page is read off the index and a rank is a range count on it.
+       indexes = @Index(name = "idx_player_stats_rank",
+                        columnList = "wins DESC, win_rate DESC, losses ASC, user_id ASC"))
+public class PlayerStats {
+
+  @Id
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(nullable = false)
+  private String username;
+
+  private long games;
+  private long wins;
+  private long losses;
+  private long draws;
+
+  // wins / games, stored so it can be indexed
+  @Column(name = "win_rate")
+  private double winRate;
+
+  protected PlayerStats() {
+  }
+
+  public PlayerStats(User user) {
+    this.userId = user.getId();
+    this.username = user.getUsername();
+  }
+
+  /**
+   * Counts one more game, which the player played as {@code color} and ended with {@code result}.
+   */
+  public void record(PlayerColor color, GameState result) {
+    if (result == GameState.IN_PROGRESS) {
+      throw new IllegalArgumentException("Game is not finished");
+    }
+    games++;
+    if (result == GameState.TIE) {
+      draws++;
+    }
+    else if (result == (color == PlayerColor.WHITE ? GameState.WHITE_WINS : GameState.BLACK_WINS)) {
+      wins++;
+    }
+    else {
+      losses++;
+    }
+    winRate = (double) wins / games;
+  }
+
+  public Long getUserId() {
+    return userId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public long getGames() {
+    return games;
+  }
+
+  public long getWins() {
+    return wins;
+  }
+
+  public long getLosses() {
+    return losses;
+  }
+
+  public long getDraws() {
+    return draws;
+  }
+
+  public double getWinRate() {
+    return winRate;
+  }
+
+  /**
+   * Whether both players share a place on the leaderboard.
+   */
+  public boolean ranksEqual(PlayerStats other) {
+    return wins == other.wins && winRate == other.winRate && losses == other.losses;
+  }
+}
@@ -0,0 +1,68 @@
+package com.project.reversi.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for 8x8 boards. The position hash kept by {@link Board} covers the discs only;
+ * searches XOR in {@link #sideToMove} themselves.
+ */
+public final class Zobrist {
+
+  private static final long[] BLACK_KEYS = new long[Bitboards.SQUARES];
+  private static final long[] WHITE_KEYS = new long[Bitboards.SQUARES];
+  // BLACK_KEYS[sq] ^ WHITE_KEYS[sq]: turns a disc on sq over in one XOR.
+  private static final long[] FLIP_KEYS = new long[Bitboards.SQUARES];
+  private static final long WHITE_TO_MOVE;
+
+  static {
+    // Fixed seed so hashes are stable across runs and JVMs.
+    SplittableRandom random = new SplittableRandom(0x5EED_0F_0BE11AL);
+    for (int square = 0; square < Bitboards.SQUARES; square++) {
+      BLACK_KEYS[square] = random.nextLong();
+      WHITE_KEYS[square] = random.nextLong();
+      FLIP_KEYS[square] = BLACK_KEYS[square] ^ WHITE_KEYS[square];
+    }
+    WHITE_TO_MOVE = random.nextLong();
+  }
+
+  private Zobrist() {
+  }
+
+  public static long disc(PlayerColor color, int square) {
+    return color == PlayerColor.BLACK ? BLACK_KEYS[square] : WHITE_KEYS[square];
+  }
+
+  public static long flip(int square) {
+    return FLIP_KEYS[square];
+  }
+
+  /**
+   * Combined key for turning over every disc in {@code flips}.
+   */
+  public static long flips(long flips) {
+    long key = 0L;
+    while (flips != 0) {
+      key ^= FLIP_KEYS[Long.numberOfTrailingZeros(flips)];
+      flips &= flips - 1;
+    }
+    return key;
+  }
+
+  public static long sideToMove(PlayerColor color) {
+    return color == PlayerColor.WHITE ? WHITE_TO_MOVE : 0L;
+  }
+
+  /**
+   * Hash of the discs from scratch; {@link Board} keeps the same value incrementally.
+   */
+  public static long hash(long black, long white) {
+    long key = 0L;
+    for (long bits = black; bits != 0; bits &= bits - 1) {
+      key ^= BLACK_KEYS[Long.numberOfTrailingZeros(bits)];
+    }
+    for (long bits = white; bits != 0; bits &= bits - 1) {
+      key ^= WHITE_KEYS[Long.numberOfTrailingZeros(bits)];
+    }
+    return key;
+  }
+}
@@ -0,0 +1,15 @@
+package com.project.reversi.repository;
+
+import com.project.reversi.model.GameMove;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JpaGameMoveRepository extends JpaRepository<GameMove, Long> {
+
+  List<GameMove> findBySessionIdOrderByPlyAsc(String sessionId);
+
+  List<GameMove> findBySessionIdAndPlyBetweenOrderByPlyAsc(String sessionId, int fromPly, int toPly);
+}
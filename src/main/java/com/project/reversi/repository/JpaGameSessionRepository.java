@@ -2,8 +2,35 @@ package com.project.reversi.repository;
 
 import com.project.reversi.model.GameSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface JpaGameSessionRepository extends JpaRepository<GameSession, String> {
+public interface JpaGameSessionRepository
+    extends JpaRepository<GameSession, String>, JpaGameSessionRepositoryCustom {
+
+  /**
+   * Claims the right to count a finished session's result.
+   *
+   * @return 1 for the first caller once the session is finished, 0 otherwise
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+      UPDATE GameSession s SET s.resultRecorded = true
+      WHERE s.sessionId = :sessionId AND s.resultRecorded = false
+        AND s.gameState <> com.project.reversi.model.GameState.IN_PROGRESS
+      """)
+  int markResultRecorded(@Param("sessionId") String sessionId);
+
+  /**
+   * Marks every finished session as counted, returning how many were not.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query("""
+      UPDATE GameSession s SET s.resultRecorded = true
+      WHERE s.resultRecorded = false AND s.gameState <> com.project.reversi.model.GameState.IN_PROGRESS
+      """)
+  int markAllResultsRecorded();
 }
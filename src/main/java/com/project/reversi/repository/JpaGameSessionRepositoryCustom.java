@@ -0,0 +1,33 @@
+package com.project.reversi.repository;
+
+import com.project.reversi.model.GameSession;
+
+import java.util.List;
+
+/**
+ * Saves of sessions that live outside any persistence context, such as those kept by the session cache.
+ */
+public interface JpaGameSessionRepositoryCustom {
+
+  /**
+   * Saves {@code session} and returns the instance to keep using, see {@link #saveAllDetached(List)}.
+   *
+   * @throws org.springframework.orm.ObjectOptimisticLockingFailureException when the row is no longer at
+   *     the session's version
+   */
+  GameSession saveDetached(GameSession session);
+
+  /**
+   * Saves {@code sessions} and returns the instances to keep using, in the same order. Detached sessions
+   * whose players are all saved are written in one JDBC batch of UPDATEs, each guarded by the session's
+   * version, which the session then carries incremented; they stay detached, and no row is read first as
+   * a merge would. New, managed or newly joined sessions are saved as
+   * {@link org.springframework.data.repository.CrudRepository#save} would.
+   *
+   * <p>The board columns are written as they are, so the caller takes the snapshot when one is due.
+   *
+   * @throws org.springframework.orm.ObjectOptimisticLockingFailureException naming the first session whose
+   *     row is no longer at its version
+   */
+  List<GameSession> saveAllDetached(List<GameSession> sessions);
+}
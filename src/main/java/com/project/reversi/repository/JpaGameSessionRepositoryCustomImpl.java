@@ -0,0 +1,88 @@
+package com.project.reversi.repository;
+
+import com.project.reversi.model.GameSession;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class JpaGameSessionRepositoryCustomImpl implements JpaGameSessionRepositoryCustom {
+
+  private static final String UPDATE = """
+      UPDATE game_session SET game_state = ?, current_turn_index = ?, white_score = ?, black_score = ?, ply = ?,
+        snapshot_ply = ?, board_data = ?, board_state = NULL, last_modified_at = ?, version = version + 1
+      WHERE session_id = ? AND version = ?
+      """;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  JpaGameSessionRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  @Transactional
+  public GameSession saveDetached(GameSession session) {
+    return saveAllDetached(List.of(session)).get(0);
+  }
+
+  @Override
+  @Transactional
+  public List<GameSession> saveAllDetached(List<GameSession> sessions) {
+    List<GameSession> saved = new ArrayList<>(sessions.size());
+    List<GameSession> updates = new ArrayList<>(sessions.size());
+    for (GameSession session : sessions) {
+      if (session.getVersion() == null) {
+        entityManager.persist(session);
+        saved.add(session);
+      }
+      else if (entityManager.contains(session)) {
+        saved.add(session);
+      }
+      else if (session.hasUnsavedPlayers()) {
+        saved.add(entityManager.merge(session));
+      }
+      else {
+        updates.add(session);
+        saved.add(session);
+      }
+    }
+    if (updates.isEmpty()) {
+      return saved;
+    }
+    // Runs ahead of the pending move inserts, so a conflicting update shows as a version mismatch rather
+    // than as a duplicate move.
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    int[][] counts = jdbcTemplate.batchUpdate(UPDATE, updates, updates.size(), (statement, session) -> {
+      statement.setString(1, session.getGameState() != null ? session.getGameState().name() : null);
+      statement.setInt(2, session.getCurrentTurnIndex());
+      statement.setInt(3, session.getWhiteScore());
+      statement.setInt(4, session.getBlackScore());
+      statement.setInt(5, session.getPly());
+      statement.setInt(6, session.getSnapshotPly());
+      statement.setBytes(7, session.getBoardData());
+      statement.setTimestamp(8, now);
+      statement.setString(9, session.getSessionId());
+      statement.setInt(10, session.getVersion());
+    });
+    for (int i = 0; i < updates.size(); i++) {
+      int count = counts[0][i];
+      // Some drivers only report that a batched statement succeeded, not how many rows it changed.
+      if (count == 0 || (count < 0 && count != Statement.SUCCESS_NO_INFO)) {
+        throw new ObjectOptimisticLockingFailureException(GameSession.class, updates.get(i).getSessionId());
+      }
+    }
+    updates.forEach(session -> session.setVersion(session.getVersion() + 1));
+    return saved;
+  }
+}
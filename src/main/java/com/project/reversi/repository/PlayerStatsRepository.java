@@ -0,0 +1,59 @@
+package com.project.reversi.repository;
+
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+
+  /**
+   * Number of players strictly ahead of the given results, i.e. their rank minus one.
+   */
+  @Query("""
+      SELECT COUNT(s) FROM PlayerStats s
+      WHERE s.wins > :wins
+         OR (s.wins = :wins AND (s.winRate > :winRate OR (s.winRate = :winRate AND s.losses < :losses)))
+      """)
+  long countRankedAhead(@Param("wins") long wins, @Param("winRate") double winRate, @Param("losses") long losses);
+
+  @Query("SELECT p FROM Player p JOIN FETCH p.account WHERE p.session.sessionId = :sessionId")
+  List<Player> findSeatedAccounts(@Param("sessionId") String sessionId);
+
+  /**
+   * Recomputes every row from the finished PLAYER_VS_PLAYER games, for history that predates the table.
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO player_stats (user_id, username, games, wins, losses, draws, win_rate)
+      SELECT userId, username, games, wins, losses, draws, CAST(wins AS DOUBLE PRECISION) / games
+      FROM (
+               SELECT
+                   u.id AS userId,
+                   u.username AS username,
+                   COUNT(*) AS games,
+                   SUM(CASE
+                           WHEN (p.color = 'BLACK' AND gs.game_state = 'BLACK_WINS')
+                               OR (p.color = 'WHITE' AND gs.game_state = 'WHITE_WINS')
+                               THEN 1 ELSE 0 END) AS wins,
+                   SUM(CASE
+                           WHEN (p.color = 'BLACK' AND gs.game_state = 'WHITE_WINS')
+                               OR (p.color = 'WHITE' AND gs.game_state = 'BLACK_WINS')
+                               THEN 1 ELSE 0 END) AS losses,
+                   SUM(CASE WHEN gs.game_state = 'TIE' THEN 1 ELSE 0 END) AS draws
+               FROM app_user u
+                        JOIN player p ON u.id = p.user_id
+                        JOIN game_session gs ON p.session_id = gs.session_id
+               WHERE gs.game_type = 'PLAYER_VS_PLAYER'
+                 AND gs.game_state <> 'IN_PROGRESS'
+               GROUP BY u.id, u.username
+           ) totals
+      """, nativeQuery = true)
+  int insertTotalsFromHistory();
+}
@@ -1,10 +1,19 @@
 package com.project.reversi.repository;
 
 import com.project.reversi.model.User;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
 
 public interface UserRepository extends CrudRepository<User, Long> {
 
   User findByUsername(String username);
 
-}
\ No newline at end of file
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT u FROM User u WHERE u.id = :id")
+  User lockById(@Param("id") Long id);
+
+}
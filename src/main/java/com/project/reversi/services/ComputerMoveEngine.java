@@ -1,18 +1,20 @@
 package com.project.reversi.services;
 
+import com.project.reversi.model.GameFinishedEvent;
 import com.project.reversi.model.GameSession;
 import com.project.reversi.model.Player;
 import com.project.reversi.model.PlayerColor;
 import com.project.reversi.model.Position;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ComputerMoveEngine {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ComputerMoveEngine.class);
-
+  private static final Position PASS = new Position(-1, -1);
 
   private final ComputerStrategy strategy;
 
@@ -20,39 +22,53 @@ public class ComputerMoveEngine {
 
 
 
-  public boolean playSingleTurn(GameSession session) {
-
-    if(session.isFinished()){
-      return false;
+  /**
+   * Searches the computer's move in {@code position} without changing it. The position must not change
+   * during the search either; a {@link GameSession#searchSnapshot() snapshot} lets the search run while
+   * the session itself stays free. Returns null when it is not the computer's turn, and a move at row -1
+   * when the computer has to pass.
+   */
+  public SearchResult search(GameSession position) {
+    if (position.isFinished() || !isComputerTurn(position)) {
+      return null;
     }
-
-    if (!isComputerTurn(session)) {
-      return false;
+    PlayerColor computerColor = position.getCurrentPlayer().getColor();
+    if (!position.hasValidMove(computerColor)) {
+      return new SearchResult(PASS, 0, 0, 0);
     }
-    Player computer = session.getCurrentPlayer();
-    PlayerColor computerColor = computer.getColor();
+    return strategy.analyze(position, computerColor);
+  }
 
-    if (!session.hasValidMove(computerColor)) {
+  /**
+   * Plays the move {@link #search} found on {@code session}, which must still be in the searched position.
+   */
+  public boolean apply(GameSession session, SearchResult result) {
+    PlayerColor computerColor = session.getCurrentPlayer().getColor();
+    Position move = result.move();
+    if (move.row() == -1) {
       LOGGER.info("Computer has no valid moves; passing turn.");
-      session.advanceTurnWithPass();
+      session.passTurn();
       return true;
     }
-    
-    Position move = strategy.execute(session, computerColor);
-    if (move.row() == -1){
-      LOGGER.info("Computer has no valid moves; passing turn.");
-      session.advanceTurnWithPass();
-      return true;
-    }
-    if(!session.getBoard().makeMove(move.row(), move.col(), computerColor)){
+    if (!session.playMove(move.row(), move.col(), computerColor)) {
       LOGGER.error("Computer strategy returned an invalid move at ({}, {})", move.row(), move.col());
       throw new IllegalStateException("Computer strategy produced invalid move");
     }
-    LOGGER.info("Computer {} moved at ({}, {})",computerColor, move.row(), move.col());
+    LOGGER.info("Computer {} moved at ({}, {}) after searching to depth {} ({} nodes, {} of {} cutoffs on first move)",
+                computerColor, move.row(), move.col(), result.depth(), result.nodes(), result.firstMoveCutoffs(),
+                result.cutoffs());
     session.advanceTurnWithPass();
     return true;
   }
 
+  /**
+   * Frees what the strategy kept for a game, such as its transposition table, once the game is over.
+   */
+  @EventListener
+  public void onGameFinished(GameFinishedEvent event) {
+    strategy.releaseGame(event.sessionId());
+  }
+
   private boolean isComputerTurn(GameSession session) {
     Player current = session.getCurrentPlayer();
     return current != null && current.isComputer();
@@ -6,4 +6,18 @@ import com.project.reversi.model.Position;
 
 public interface ComputerStrategy {
    Position execute(GameSession session, PlayerColor computerColor);
+
+   /**
+    * Like {@link #execute} but also reports how deep the search went.
+    * Strategies without search statistics report depth and nodes as 0.
+    */
+   default SearchResult analyze(GameSession session, PlayerColor computerColor) {
+      return new SearchResult(execute(session, computerColor), 0, 0, 0);
+   }
+
+   /**
+    * Forgets whatever the strategy kept between the moves of a game, once the game is over.
+    */
+   default void releaseGame(String sessionId) {
+   }
 }
@@ -0,0 +1,78 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.ComputerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool that searches computer replies off the HTTP request threads. Only created when
+ * {@code reversi.computer.async-turns} is enabled; otherwise {@link #isEnabled()} is false and callers
+ * play the computer inline.
+ */
+@Component
+public class ComputerTurnExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerTurnExecutor.class);
+
+  private final ThreadPoolExecutor executor;
+
+  public ComputerTurnExecutor(ComputerProperties computerProperties) {
+    if (!computerProperties.isAsyncTurns()) {
+      this.executor = null;
+      return;
+    }
+    int threads = Math.max(1, computerProperties.getAsyncThreads());
+    AtomicInteger threadIndex = new AtomicInteger();
+    // A full queue pushes the work back onto the submitting thread rather than dropping a turn.
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                                           new ArrayBlockingQueue<>(Math.max(1, computerProperties.getAsyncQueueCapacity())),
+                                           runnable -> {
+                                             Thread thread = new Thread(runnable, "computer-turn-" + threadIndex.incrementAndGet());
+                                             thread.setDaemon(true);
+                                             return thread;
+                                           },
+                                           new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  public boolean isEnabled() {
+    return executor != null;
+  }
+
+  public void submit(Runnable turn) {
+    if (executor == null) {
+      throw new IllegalStateException("Asynchronous computer turns are disabled");
+    }
+    executor.execute(turn);
+  }
+
+  /**
+   * Number of replies waiting for a thread.
+   */
+  public int getQueuedTurns() {
+    return executor == null ? 0 : executor.getQueue().size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+        LOGGER.warn("Abandoning {} pending computer turns on shutdown", executor.shutdownNow().size());
+      }
+    }
+    catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Bitboards;
+
+/**
+ * Exact endgame search: returns the final disc differential (own discs minus opponent discs) under
+ * perfect play. Positions are plain {@code (player, opponent)} bitboards with {@code player} to move.
+ *
+ * <p>Moves are ordered fastest-first (fewest opponent replies) while many squares are empty, then by
+ * quadrant parity (squares in quadrants with an odd number of empties first). The last four empties
+ * are solved without move generation, by probing each empty square directly.
+ *
+ * <p>One instance serves one solve; it keeps its own move buffers and node counter.
+ */
+public final class EndgameSolver {
+
+  // Below this many empties, fastest-first ordering costs more than it saves.
+  private static final int FASTEST_FIRST_EMPTIES = 7;
+  private static final int SMALL_EMPTIES = 4;
+  private static final int CLOCK_CHECK_INTERVAL = 4096;
+  private static final long[] QUADRANTS = {
+      0x000000000F0F0F0FL, 0x00000000F0F0F0F0L, 0x0F0F0F0F00000000L, 0xF0F0F0F000000000L
+  };
+
+  private final long deadline;
+  // Per-ply move buffers indexed by the number of empties, so ordering allocates nothing.
+  private final int[][] squares = new int[Bitboards.SQUARES + 1][Bitboards.SQUARES];
+  private final long[][] flips = new long[Bitboards.SQUARES + 1][Bitboards.SQUARES];
+  private final int[][] keys = new int[Bitboards.SQUARES + 1][Bitboards.SQUARES];
+  private long nodes;
+  private boolean aborted;
+  private int bestScore;
+
+  public EndgameSolver() {
+    this(Long.MAX_VALUE);
+  }
+
+  /**
+   * @param deadline {@link System#nanoTime()} after which the solve gives up; see {@link #isAborted()}
+   */
+  public EndgameSolver(long deadline) {
+    this.deadline = deadline;
+  }
+
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * True when the deadline interrupted the solve; scores returned after that are meaningless.
+   */
+  public boolean isAborted() {
+    return aborted;
+  }
+
+  /**
+   * Perfect-play disc differential for {@code player} to move.
+   */
+  public int solve(long player, long opponent) {
+    return solve(player, opponent, -Bitboards.SQUARES, Bitboards.SQUARES, false);
+  }
+
+  /**
+   * Searches {@code player}'s moves and returns the best square, or -1 when {@code player} has to pass.
+   * The exact score of that move is available from {@link #getBestScore()}.
+   */
+  public int solveBestMove(long player, long opponent) {
+    int empties = Long.bitCount(~(player | opponent));
+    int count = orderMoves(player, opponent, empties);
+    if (count == 0) {
+      bestScore = -solve(opponent, player, -Bitboards.SQUARES, Bitboards.SQUARES, true);
+      return -1;
+    }
+    int alpha = -Bitboards.SQUARES - 1;
+    int bestSquare = -1;
+    for (int i = 0; i < count; i++) {
+      int square = squares[empties][i];
+      long flipped = flips[empties][i];
+      int score = -solve(opponent & ~flipped, player | flipped | (1L << square), -Bitboards.SQUARES, -alpha, false);
+      if (aborted) {
+        break;
+      }
+      if (score > alpha) {
+        alpha = score;
+        bestSquare = square;
+      }
+    }
+    bestScore = alpha;
+    return bestSquare;
+  }
+
+  public int getBestScore() {
+    return bestScore;
+  }
+
+  private int solve(long player, long opponent, int alpha, int beta, boolean passed) {
+    long emptyMask = ~(player | opponent);
+    int empties = Long.bitCount(emptyMask);
+    if (empties <= SMALL_EMPTIES) {
+      return solveSmall(player, opponent, alpha, beta, passed);
+    }
+    if (outOfTime()) {
+      return 0;
+    }
+    int count = orderMoves(player, opponent, empties);
+    if (count == 0) {
+      if (passed) {
+        return finalScore(player, opponent);
+      }
+      return -solve(opponent, player, -beta, -alpha, true);
+    }
+    int best = -Bitboards.SQUARES - 1;
+    for (int i = 0; i < count; i++) {
+      int square = squares[empties][i];
+      long flipped = flips[empties][i];
+      int score = -solve(opponent & ~flipped, player | flipped | (1L << square), -beta, -alpha, false);
+      if (score > best) {
+        best = score;
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Solves positions with at most four empties by probing each empty square for flips directly,
+   * odd-parity quadrants first.
+   */
+  private int solveSmall(long player, long opponent, int alpha, int beta, boolean passed) {
+    long emptyMask = ~(player | opponent);
+    if (Long.bitCount(emptyMask) == 1) {
+      return lastEmpty(player, opponent, Long.numberOfTrailingZeros(emptyMask));
+    }
+    nodes++;
+    long odd = oddQuadrants(emptyMask);
+    int best = -Bitboards.SQUARES - 1;
+    boolean moved = false;
+    for (int round = 0; round < 2; round++) {
+      long candidates = round == 0 ? emptyMask & odd : emptyMask & ~odd;
+      while (candidates != 0) {
+        int square = Long.numberOfTrailingZeros(candidates);
+        candidates &= candidates - 1;
+        long flipped = Bitboards.flips(player, opponent, square);
+        if (flipped == 0) {
+          continue;
+        }
+        moved = true;
+        int score = -solveSmall(opponent & ~flipped, player | flipped | (1L << square), -beta, -alpha, false);
+        if (score > best) {
+          best = score;
+          if (score > alpha) {
+            alpha = score;
+            if (alpha >= beta) {
+              return best;
+            }
+          }
+        }
+      }
+    }
+    if (moved) {
+      return best;
+    }
+    if (passed) {
+      return finalScore(player, opponent);
+    }
+    return -solveSmall(opponent, player, -beta, -alpha, true);
+  }
+
+  private int lastEmpty(long player, long opponent, int square) {
+    nodes++;
+    int own = Long.bitCount(player);
+    int other = Long.bitCount(opponent);
+    int flipped = Long.bitCount(Bitboards.flips(player, opponent, square));
+    if (flipped > 0) {
+      return (own + flipped + 1) - (other - flipped);
+    }
+    flipped = Long.bitCount(Bitboards.flips(opponent, player, square));
+    if (flipped > 0) {
+      return (own - flipped) - (other + flipped + 1);
+    }
+    return own - other;
+  }
+
+  /**
+   * Fills the buffers for {@code empties} with the legal moves of {@code player}, best first,
+   * and returns how many there are.
+   */
+  private int orderMoves(long player, long opponent, int empties) {
+    long moves = Bitboards.legalMoves(player, opponent);
+    long odd = oddQuadrants(~(player | opponent));
+    int[] moveSquares = squares[empties];
+    long[] moveFlips = flips[empties];
+    int[] moveKeys = keys[empties];
+    int count = 0;
+    while (moves != 0) {
+      int square = Long.numberOfTrailingZeros(moves);
+      moves &= moves - 1;
+      long flipped = Bitboards.flips(player, opponent, square);
+      int key = (odd & (1L << square)) != 0 ? 0 : 1;
+      if (empties > FASTEST_FIRST_EMPTIES) {
+        long nextPlayer = opponent & ~flipped;
+        long nextOpponent = player | flipped | (1L << square);
+        key += Long.bitCount(Bitboards.legalMoves(nextPlayer, nextOpponent)) * 2;
+      }
+      // Insertion sort: a handful of moves per position.
+      int slot = count++;
+      while (slot > 0 && moveKeys[slot - 1] > key) {
+        moveSquares[slot] = moveSquares[slot - 1];
+        moveFlips[slot] = moveFlips[slot - 1];
+        moveKeys[slot] = moveKeys[slot - 1];
+        slot--;
+      }
+      moveSquares[slot] = square;
+      moveFlips[slot] = flipped;
+      moveKeys[slot] = key;
+    }
+    return count;
+  }
+
+  private static long oddQuadrants(long emptyMask) {
+    long odd = 0L;
+    for (long quadrant : QUADRANTS) {
+      if ((Long.bitCount(emptyMask & quadrant) & 1) != 0) {
+        odd |= quadrant;
+      }
+    }
+    return odd;
+  }
+
+  private static int finalScore(long player, long opponent) {
+    return Long.bitCount(player) - Long.bitCount(opponent);
+  }
+
+  private boolean outOfTime() {
+    if (aborted) {
+      return true;
+    }
+    nodes++;
+    if ((nodes % CLOCK_CHECK_INTERVAL) == 0 && System.nanoTime() >= deadline) {
+      aborted = true;
+    }
+    return aborted;
+  }
+}
@@ -0,0 +1,222 @@
+package com.project.reversi.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.reversi.config.WebsocketProperties;
+import com.project.reversi.dto.GameProgressDeltaDTO;
+import com.project.reversi.dto.GameSessionSummaryDTO;
+import com.project.reversi.dto.MoveResponseDTO;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameState;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serialized progress frames of the games being watched. Each frame is serialized once and the same
+ * bytes go to every subscriber of {@code /topic/game-progress/{sessionId}}; the last snapshot of a game
+ * and the deltas published since are kept so that spectators joining late catch up without the game
+ * being serialized again for each of them.
+ *
+ * <p>A game's feed only holds deltas that follow on from its snapshot. A gap, a tail longer than
+ * {@code reversi.websocket.spectator-tail-length} or the end of the game drops the feed, and the next
+ * spectator to join rebuilds it from the session.
+ */
+@Component
+public class GameBroadcastCache {
+
+  private static final byte[] CATCH_UP_PREFIX = "{\"type\":\"CATCH_UP\",\"frames\":[".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] CATCH_UP_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+  private final ObjectMapper objectMapper;
+  private final int maxTailLength;
+  private final Map<String, Feed> feeds;
+
+  public GameBroadcastCache(ObjectMapper objectMapper, WebsocketProperties websocketProperties) {
+    this.objectMapper = objectMapper;
+    this.maxTailLength = Math.max(0, websocketProperties.getSpectatorTailLength());
+    // With no feeds kept, every spectator's catch-up is built from the session.
+    int maxFeeds = Math.max(0, websocketProperties.getSpectatorFeeds());
+    // Least recently watched games are dropped first; their spectators rebuild the feed on the next join.
+    this.feeds = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Feed> eldest) {
+        return size() > maxFeeds;
+      }
+    };
+  }
+
+  /**
+   * Serializes a delta for broadcast and appends it to its game's feed.
+   */
+  public byte[] delta(GameProgressDeltaDTO delta) {
+    byte[] frame = serialize(delta);
+    if (!GameState.IN_PROGRESS.name().equals(delta.getGameState())) {
+      removeFeed(delta.getSessionId());
+      return frame;
+    }
+    Feed feed = feed(delta.getSessionId(), false);
+    if (feed != null) {
+      synchronized (feed) {
+        feed.append(delta.getFromPly(), delta.getPly(), frame, maxTailLength);
+      }
+    }
+    return frame;
+  }
+
+  /**
+   * Serializes a snapshot for broadcast and makes it the start of its game's feed.
+   */
+  public byte[] snapshot(GameSessionSummaryDTO summary, String message) {
+    byte[] frame = serialize(snapshotFrame(summary, message));
+    if (!GameState.IN_PROGRESS.name().equals(summary.getGameState())) {
+      removeFeed(summary.getSessionId());
+      return frame;
+    }
+    Feed feed = feed(summary.getSessionId(), true);
+    synchronized (feed) {
+      feed.restart(summary.getPly(), frame);
+    }
+    return frame;
+  }
+
+  /**
+   * The frames a spectator needs to catch up with {@code session}: a {@code CATCH_UP} object whose
+   * {@code frames} are a snapshot followed by the deltas published since, oldest first. No frames when
+   * the session does not exist.
+   */
+  public byte[] catchUp(GameSession session) {
+    if (session == null) {
+      return Feed.join(List.of());
+    }
+    Feed feed = feed(session.getSessionId(), true);
+    synchronized (feed) {
+      if (feed.hasSnapshot()) {
+        return feed.catchUp();
+      }
+    }
+    // Deltas are published under the session's monitor, so none can slip in between the summary and
+    // the restart. The monitor is taken before the feed's, as on the publishing side.
+    synchronized (session) {
+      byte[] frame = serialize(snapshotFrame(GameSessionSummaryDTO.fromGameSession(session), "Spectating"));
+      if (session.isFinished()) {
+        return Feed.join(List.of(frame));
+      }
+      synchronized (feed) {
+        feed.restart(session.getPly(), frame);
+        return feed.catchUp();
+      }
+    }
+  }
+
+  /**
+   * Number of games with a feed.
+   */
+  public int size() {
+    synchronized (feeds) {
+      return feeds.size();
+    }
+  }
+
+  private Feed feed(String sessionId, boolean create) {
+    synchronized (feeds) {
+      return create ? feeds.computeIfAbsent(sessionId, id -> new Feed()) : feeds.get(sessionId);
+    }
+  }
+
+  private void removeFeed(String sessionId) {
+    synchronized (feeds) {
+      feeds.remove(sessionId);
+    }
+  }
+
+  private static MoveResponseDTO snapshotFrame(GameSessionSummaryDTO summary, String message) {
+    MoveResponseDTO response = new MoveResponseDTO();
+    response.setMessage(message);
+    response.setSessionSummary(summary);
+    return response;
+  }
+
+  private byte[] serialize(Object frame) {
+    try {
+      return objectMapper.writeValueAsBytes(frame);
+    }
+    catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Snapshot and delta tail of one game. Guarded by its own monitor.
+   */
+  private static final class Feed {
+    private byte[] snapshot;
+    private final List<byte[]> tail = new ArrayList<>();
+    private int lastPly;
+    private byte[] catchUp;
+
+    boolean hasSnapshot() {
+      return snapshot != null;
+    }
+
+    void restart(int ply, byte[] frame) {
+      // An older snapshot than the deltas already seen would need deltas that were dropped.
+      if (snapshot != null && ply < lastPly) {
+        return;
+      }
+      snapshot = frame;
+      tail.clear();
+      lastPly = ply;
+      catchUp = null;
+    }
+
+    void append(int fromPly, int ply, byte[] frame, int maxTailLength) {
+      if (snapshot == null || fromPly != lastPly || tail.size() >= maxTailLength) {
+        snapshot = null;
+        tail.clear();
+      }
+      else {
+        tail.add(frame);
+      }
+      lastPly = ply;
+      catchUp = null;
+    }
+
+    byte[] catchUp() {
+      if (catchUp == null) {
+        List<byte[]> frames = new ArrayList<>(tail.size() + 1);
+        frames.add(snapshot);
+        frames.addAll(tail);
+        catchUp = join(frames);
+      }
+      return catchUp;
+    }
+
+    static byte[] join(List<byte[]> frames) {
+      int length = CATCH_UP_PREFIX.length + CATCH_UP_SUFFIX.length + Math.max(0, frames.size() - 1);
+      for (byte[] frame : frames) {
+        length += frame.length;
+      }
+      byte[] joined = new byte[length];
+      int offset = copy(CATCH_UP_PREFIX, joined, 0);
+      for (int i = 0; i < frames.size(); i++) {
+        if (i > 0) {
+          joined[offset++] = ',';
+        }
+        offset = copy(frames.get(i), joined, offset);
+      }
+      copy(CATCH_UP_SUFFIX, joined, offset);
+      return joined;
+    }
+
+    private static int copy(byte[] source, byte[] target, int offset) {
+      System.arraycopy(source, 0, target, offset, source.length);
+      return offset + source.length;
+    }
+  }
+}
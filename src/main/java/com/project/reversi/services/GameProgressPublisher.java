@@ -0,0 +1,47 @@
+package com.project.reversi.services;
+
+import com.project.reversi.dto.GameProgressDeltaDTO;
+import com.project.reversi.dto.GameSessionSummaryDTO;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Pushes game updates to the clients subscribed to {@code /topic/game-progress/{sessionId}}: a
+ * {@link GameProgressDeltaDTO} for each change to the board, and a full summary when something the
+ * deltas do not carry changes, such as the players.
+ *
+ * <p>Frames are serialized once by the {@link GameBroadcastCache} and the broker hands the same bytes to
+ * every subscriber, players and spectators alike.
+ */
+@Component
+public class GameProgressPublisher {
+
+  private static final String TOPIC = "/topic/game-progress/";
+
+  private final SimpMessagingTemplate messagingTemplate;
+  private final GameBroadcastCache broadcastCache;
+
+  public GameProgressPublisher(SimpMessagingTemplate messagingTemplate, GameBroadcastCache broadcastCache) {
+    this.messagingTemplate = messagingTemplate;
+    this.broadcastCache = broadcastCache;
+  }
+
+  public void publishDelta(GameProgressDeltaDTO delta) {
+    send(delta.getSessionId(), broadcastCache.delta(delta));
+  }
+
+  public void publish(GameSessionSummaryDTO summary, String message) {
+    send(summary.getSessionId(), broadcastCache.snapshot(summary, message));
+  }
+
+  private void send(String sessionId, byte[] frame) {
+    SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    headers.setLeaveMutable(true);
+    messagingTemplate.send(TOPIC + sessionId, MessageBuilder.createMessage(frame, headers.getMessageHeaders()));
+  }
+}
@@ -0,0 +1,69 @@
+package com.project.reversi.services;
+
+import com.project.reversi.dto.ReplayFrameDTO;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameMove;
+import com.project.reversi.repository.JpaGameMoveRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Replays a game from its move log, one position per ply. The board is rebuilt incrementally from
+ * the starting position, and the log is read a chunk of plies at a time, so a replay holds a single
+ * board and at most one chunk of moves in memory however long it is.
+ */
+@Service
+public class GameReplayService {
+
+  private static final int CHUNK_PLIES = 64;
+
+  private final JpaGameMoveRepository moveRepository;
+  private final int chunkPlies;
+
+  @Autowired
+  public GameReplayService(JpaGameMoveRepository moveRepository) {
+    this(moveRepository, CHUNK_PLIES);
+  }
+
+  GameReplayService(JpaGameMoveRepository moveRepository, int chunkPlies) {
+    this.moveRepository = moveRepository;
+    this.chunkPlies = chunkPlies;
+  }
+
+  /**
+   * Passes {@code sink} the starting position and then the position after each logged move of the
+   * session, in order, up to {@code lastPly}.
+   *
+   * <p>Moves not written yet (see write-behind in {@link GameSessionCache}) are not included. A session
+   * with no logged moves yields its current board as its only position: games started before the move
+   * log have no history.
+   *
+   * @param current the session's board at {@code lastPly}; not modified
+   * @throws IllegalStateException if a logged move cannot be played on the rebuilt board
+   */
+  public void replay(String sessionId, int lastPly, Board current, Consumer<ReplayFrameDTO> sink) {
+    if (lastPly == 0) {
+      sink.accept(ReplayFrameDTO.start(current));
+      return;
+    }
+    Board board = new Board(current.getNumRows(), current.getNumColumns());
+    sink.accept(ReplayFrameDTO.start(board));
+    for (int from = 1; from <= lastPly; from += chunkPlies) {
+      List<GameMove> chunk = moveRepository.findBySessionIdAndPlyBetweenOrderByPlyAsc(
+          sessionId, from, Math.min(lastPly, from + chunkPlies - 1));
+      for (GameMove move : chunk) {
+        if (!move.isPass() && !board.makeMove(move.getRow(), move.getCol(), move.getColor())) {
+          throw new IllegalStateException("Move log of session " + sessionId + " does not replay at ply "
+                                          + move.getPly());
+        }
+        sink.accept(ReplayFrameDTO.after(move, board));
+      }
+      if (chunk.size() < chunkPlies) {
+        return;
+      }
+    }
+  }
+}
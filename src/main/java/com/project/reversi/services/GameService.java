@@ -1,5 +1,8 @@
 package com.project.reversi.services;
 
+import com.project.reversi.dto.GameProgressDeltaDTO;
+import com.project.reversi.dto.GameSessionSummaryDTO;
+import com.project.reversi.model.Board;
 import com.project.reversi.model.GameSession;
 import com.project.reversi.model.MoveResult;
 import com.project.reversi.model.Player;
@@ -7,6 +10,8 @@ import com.project.reversi.model.PlayerColor;
 import com.project.reversi.repository.JpaGameSessionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
@@ -14,13 +19,33 @@ import java.util.NoSuchElementException;
 @Service
 public class GameService {
 
-  private final JpaGameSessionRepository sessionRepository;
+  private final GameSessionCache sessionCache;
+  private final SessionExecutor sessionExecutor;
   private final ComputerMoveEngine computerMoveEngine;
+  private final ComputerTurnExecutor computerTurnExecutor;
+  private final GameProgressPublisher progressPublisher;
   private static final Logger logger = LoggerFactory.getLogger(GameService.class);
+  // Tries of a computer turn that finds its session busy, and the wait before the first retry, doubled
+  // after each one
+  static final int BUSY_COMPUTER_TURN_ATTEMPTS = 5;
+  private static final long BUSY_RETRY_DELAY_MILLIS = 50;
 
+  /**
+   * Plays moves and computer turns inline, on the calling thread.
+   */
   public GameService(JpaGameSessionRepository sessionRepository, ComputerMoveEngine computerMoveEngine) {
-    this.sessionRepository = sessionRepository;
+    this(GameSessionCache.uncached(sessionRepository), SessionExecutor.inline(), computerMoveEngine, null, null);
+  }
+
+  @Autowired
+  public GameService(GameSessionCache sessionCache, SessionExecutor sessionExecutor,
+                     ComputerMoveEngine computerMoveEngine, ComputerTurnExecutor computerTurnExecutor,
+                     GameProgressPublisher progressPublisher) {
+    this.sessionCache = sessionCache;
+    this.sessionExecutor = sessionExecutor;
     this.computerMoveEngine = computerMoveEngine;
+    this.computerTurnExecutor = computerTurnExecutor;
+    this.progressPublisher = progressPublisher;
   }
 
   /**
@@ -35,9 +60,29 @@ public class GameService {
    * @return The resut of the move
    */
   public MoveResult makeMove(String sessionId, int row, int column, PlayerColor playerColor) {
-    GameSession session = sessionRepository.findById(sessionId)
-                                           .orElseThrow(() -> new NoSuchElementException("Session not found: "
-                                                                                         + sessionId));
+    MoveResult result = sessionExecutor.call(sessionId, () -> {
+      GameSession session = sessionCache.findById(sessionId)
+                                        .orElseThrow(() -> new NoSuchElementException("Session not found: "
+                                                                                      + sessionId));
+      // Moves are serialized by the executor; the monitor keeps a write-behind flush from copying half a move.
+      synchronized (session) {
+        int fromPly = session.getPly();
+        Board before = progressPublisher != null ? session.getBoard().copyBoard() : null;
+        MoveResult outcome = makeMove(session, row, column, playerColor);
+        // Published from the session's executor, so subscribers see its deltas in ply order.
+        publishDelta(session, fromPly, before, "Move successful");
+        return outcome;
+      }
+    });
+    // In async mode the reply is left to resumeComputerTurns, once the caller has published this move.
+    if (result == MoveResult.SUCCESS && !isAsync() && playComputerTurns(sessionId)) {
+      return MoveResult.GAME_FINISHED;
+    }
+    return result;
+  }
+
+  private MoveResult makeMove(GameSession session, int row, int column, PlayerColor playerColor) {
+    String sessionId = session.getSessionId();
     if (session.isFinished()) {
       logger.warn("Attempted move on finished session: {}", sessionId);
       return MoveResult.GAME_FINISHED;
@@ -53,7 +98,7 @@ public class GameService {
       return MoveResult.WRONG_TURN;
     }
     // Attempt the move on the board
-    boolean moveResult = session.getBoard().makeMove(row, column, playerColor);
+    boolean moveResult = session.playMove(row, column, playerColor);
 
     if (!moveResult) {
       logger.info(
@@ -71,27 +116,161 @@ public class GameService {
 
     if (session.isGameOver()) {
       session.finish();
+      sessionCache.save(session);
       return MoveResult.GAME_FINISHED;
     }
 
-    // Let computer play while it’s computer turn
-    while (!session.isFinished() && session.getCurrentPlayer() != null && session.getCurrentPlayer().isComputer()) {
-      boolean acted = computerMoveEngine.playSingleTurn(session);
-      if (!acted) break;
+    session.updateScores();
+    sessionCache.save(session);
+    return MoveResult.SUCCESS;
 
+  }
+
+  /**
+   * In async mode, searches the computer's reply on the {@link ComputerTurnExecutor} and pushes the
+   * resulting change over {@code /topic/game-progress/{sessionId}}. Does nothing when computer turns
+   * are played inline or it is not the computer's turn.
+   */
+  public void resumeComputerTurns(String sessionId) {
+    if (!isAsync()) {
+      return;
+    }
+    computerTurnExecutor.submit(() -> {
+      try {
+        playComputerTurns(sessionId);
+      }
+      catch (RuntimeException e) {
+        logger.error("Computer turn failed for session {}", sessionId, e);
+      }
+    });
+  }
+
+  /**
+   * Lets the computer play while it is its turn. Only loading, applying and saving run on the session's
+   * stripe: each search runs on the calling thread, on a snapshot of the position, and its move is
+   * dropped if the session moved on meanwhile. No transaction is held during the search; the cache
+   * saves in a transaction of its own. Returns true when a computer move ended the game.
+   *
+   * <p>A turn that keeps finding the session busy is retried with a growing delay, then given up: the
+   * game is left waiting for the computer and the failure logged as an error.
+   */
+  private boolean playComputerTurns(String sessionId) {
+    int busy = 0;
+    while (true) {
+      try {
+        Boolean finished = playComputerTurn(sessionId);
+        if (finished != null) {
+          return finished;
+        }
+        busy = 0;
+      }
+      catch (SessionBusyException e) {
+        // Neither step ran, so the turn can be tried again.
+        if (++busy >= BUSY_COMPUTER_TURN_ATTEMPTS) {
+          logger.error("Session {} still busy after {} tries; computer turn not played", sessionId, busy);
+          return false;
+        }
+        logger.warn("Session {} busy during a computer turn; retrying", sessionId);
+        if (!sleep(BUSY_RETRY_DELAY_MILLIS << (busy - 1))) {
+          return false;
+        }
+      }
+    }
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Searches and plays one computer turn. Returns whether a computer move ended the game, or null when
+   * there is another turn to play.
+   */
+  private Boolean playComputerTurn(String sessionId) {
+    GameSession position = sessionExecutor.call(sessionId, () -> {
+      GameSession session = sessionCache.findById(sessionId).orElse(null);
+      if (session == null) {
+        return null;
+      }
+      synchronized (session) {
+        return session.isFinished() || !isComputerTurn(session) ? null : session.searchSnapshot();
+      }
+    });
+    SearchResult result = position != null ? computerMoveEngine.search(position) : null;
+    if (result == null) {
+      return false;
+    }
+    int ply = position.getPly();
+    Boolean finished = sessionExecutor.call(sessionId, () -> applyComputerTurn(sessionId, ply, result));
+    return Boolean.TRUE.equals(finished) ? Boolean.TRUE : null;
+  }
+
+  /**
+   * Plays a searched computer move if the session is still at {@code ply}. Returns whether the game is
+   * over, or null when the move no longer applies. Runs on the session's stripe.
+   */
+  private Boolean applyComputerTurn(String sessionId, int ply, SearchResult result) {
+    GameSession session = sessionCache.findById(sessionId).orElse(null);
+    if (session == null) {
+      return false;
+    }
+    synchronized (session) {
+      if (session.getPly() != ply || session.isFinished() || !isComputerTurn(session)) {
+        logger.info("Session {} moved on during the computer search; searching again", sessionId);
+        return null;
+      }
+      Board before = progressPublisher != null ? session.getBoard().copyBoard() : null;
+      computerMoveEngine.apply(session, result);
       if (session.isGameOver()) {
         session.finish();
-        return MoveResult.GAME_FINISHED;
       }
+      else {
+        session.updateScores();
+      }
+      sessionCache.save(session);
+      publishDelta(session, ply, before, "Computer moved");
+      return session.isFinished();
     }
+  }
 
-    session.updateScores();
-    sessionRepository.save(session);
-    return MoveResult.SUCCESS;
+  /**
+   * Pushes the state that won to the clients of a session whose moves the session cache had to drop, so
+   * they stop showing moves that were never saved.
+   */
+  @EventListener
+  public void onUnsavedMovesLost(UnsavedMovesLostEvent event) {
+    GameSession session = progressPublisher != null ? sessionCache.findById(event.sessionId()).orElse(null) : null;
+    if (session == null) {
+      return;
+    }
+    synchronized (session) {
+      progressPublisher.publish(GameSessionSummaryDTO.fromGameSession(session),
+                                "Moves were lost to a concurrent update");
+    }
+  }
+
+  private void publishDelta(GameSession session, int fromPly, Board before, String message) {
+    if (progressPublisher != null && session.getPly() != fromPly) {
+      progressPublisher.publishDelta(GameProgressDeltaDTO.between(before, fromPly, session, message));
+    }
+  }
+
+  private boolean isComputerTurn(GameSession session) {
+    return session.getCurrentPlayer() != null && session.getCurrentPlayer().isComputer();
+  }
 
+  private boolean isAsync() {
+    return computerTurnExecutor != null && computerTurnExecutor.isEnabled();
   }
 
   public GameSession getSessionById(String sessionId) {
-    return sessionRepository.findById(sessionId).orElse(null);
+    return sessionCache.findById(sessionId).orElse(null);
   }
 }
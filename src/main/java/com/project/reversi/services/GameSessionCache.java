@@ -0,0 +1,515 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.MoveLogProperties;
+import com.project.reversi.config.SessionCacheProperties;
+import com.project.reversi.model.GameMove;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.repository.JpaGameMoveRepository;
+import com.project.reversi.repository.JpaGameSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of game sessions in front of {@link JpaGameSessionRepository}, which also keeps their move logs.
+ *
+ * <p>A save appends the moves played since the previous save to the move log and only rewrites the
+ * board snapshot every {@code snapshotInterval} plies; a load replays the logged moves after the
+ * snapshot. Without a {@link JpaGameMoveRepository} the board is snapshotted on every save instead.
+ *
+ * <p>Reads are served from memory once a session has been loaded. By default every save still goes to
+ * the database and the cache then keeps the instance the save returned, so its {@code @Version} matches
+ * the row. A save rejected by the optimistic lock evicts the session, so the next read reloads the
+ * winning row. Entries are dropped beyond {@code maxSize} (least recently used first) or after
+ * {@code idleTimeout} without access. The size is a soft cap: sessions waiting to be written behind are
+ * never dropped, so a flush backlog can hold the cache over it; a put that finds it so starts a flush.
+ *
+ * <p>In write-behind mode a save of a game in progress only marks the cached session dirty. A single
+ * flusher thread writes all dirty sessions in one transaction, so several moves on a session cost one
+ * row update and the inserts and updates go out in JDBC batches. Dirty sessions stay cached until
+ * written; a finished game is flushed at once, and everything pending is flushed on shutdown. A session
+ * that fails to flush stays dirty and is retried with a growing delay, unless its row was changed
+ * elsewhere: then its unsaved moves are dropped and an {@link UnsavedMovesLostEvent} is published.
+ */
+@Component
+public class GameSessionCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GameSessionCache.class);
+  // Session rows updated per JDBC batch, as hibernate.jdbc.batch_size does for the move inserts
+  private static final int UPDATE_BATCH_SIZE = 50;
+  // Dirty sessions an insert steps over looking for one to drop, so a flush backlog does not make every
+  // insert scan the whole cache
+  private static final int MAX_DIRTY_SKIPPED = 16;
+
+  private final JpaGameSessionRepository repository;
+  private final JpaGameMoveRepository moveRepository;
+  private final int snapshotInterval;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int maxSize;
+  private final long idleTimeoutNanos;
+  private final LongSupplier clock;
+  // Access-ordered: iteration starts at the least recently used session.
+  private final LinkedHashMap<String, CachedSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  // Write-behind only: sessions saved since the last flush, and the thread that flushes them.
+  private final boolean writeBehind;
+  private final int maxDirty;
+  private final LinkedHashMap<String, GameSession> dirty = new LinkedHashMap<>();
+  // Dirty sessions taken by the flush in progress; they count as dirty until it completes.
+  private final Map<String, GameSession> flushing = new HashMap<>();
+  private final ScheduledExecutorService flusher;
+  private final Object flushLock = new Object();
+  private final AtomicLong flushedSessions = new AtomicLong();
+  private boolean closed;
+  // Dirty sessions whose last flush failed, guarded by dirty.
+  private final Map<String, FlushFailure> failedFlushes = new HashMap<>();
+  private final long flushIntervalNanos;
+  private final long maxFlushBackoffNanos;
+  private final int maxFlushRetries;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  public GameSessionCache(JpaGameSessionRepository repository, JpaGameMoveRepository moveRepository,
+                          SessionCacheProperties properties, MoveLogProperties moveLogProperties,
+                          PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+    this(repository, moveRepository, properties, moveLogProperties, transactionManager, eventPublisher,
+         System::nanoTime);
+  }
+
+  GameSessionCache(JpaGameSessionRepository repository, JpaGameMoveRepository moveRepository,
+                   SessionCacheProperties properties, MoveLogProperties moveLogProperties,
+                   PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                   LongSupplier clock) {
+    this.repository = repository;
+    this.moveRepository = moveRepository;
+    this.snapshotInterval = moveLogProperties.getSnapshotInterval();
+    this.transactionTemplate = transactionManager != null ? new TransactionTemplate(transactionManager) : null;
+    this.enabled = properties.isEnabled() && properties.getMaxSize() > 0;
+    this.maxSize = properties.getMaxSize();
+    this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+    this.clock = clock;
+    if (properties.isWriteBehind() && !enabled) {
+      LOGGER.warn("Write-behind needs the session cache; saves will be written through");
+    }
+    this.writeBehind = properties.isWriteBehind() && enabled && transactionTemplate != null;
+    this.maxDirty = Math.max(1, properties.getMaxDirty());
+    this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+    this.maxFlushBackoffNanos = Math.max(flushIntervalNanos, properties.getMaxFlushBackoff().toNanos());
+    this.maxFlushRetries = properties.getMaxFlushRetries();
+    this.eventPublisher = eventPublisher;
+    if (writeBehind) {
+      long interval = properties.getFlushInterval().toMillis();
+      this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-flush");
+        thread.setDaemon(true);
+        return thread;
+      });
+      flusher.scheduleWithFixedDelay(this::flushDueQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    else {
+      this.flusher = null;
+    }
+  }
+
+  /**
+   * Cache that reads and writes straight through to {@code repository}, snapshotting the board on every
+   * save.
+   */
+  public static GameSessionCache uncached(JpaGameSessionRepository repository) {
+    SessionCacheProperties properties = new SessionCacheProperties();
+    properties.setEnabled(false);
+    return new GameSessionCache(repository, null, properties, new MoveLogProperties(), null, event -> { });
+  }
+
+  public Optional<GameSession> findById(String sessionId) {
+    if (!enabled) {
+      return load(sessionId);
+    }
+    long now = clock.getAsLong();
+    synchronized (sessions) {
+      CachedSession cached = sessions.get(sessionId);
+      if (cached != null && (now - cached.lastAccess <= idleTimeoutNanos || isDirty(sessionId))) {
+        cached.lastAccess = now;
+        hits.incrementAndGet();
+        return Optional.of(cached.session);
+      }
+    }
+    misses.incrementAndGet();
+    Optional<GameSession> loaded = load(sessionId);
+    loaded.ifPresent(session -> put(session, now));
+    return loaded;
+  }
+
+  /**
+   * Saves {@code session} and its new moves and returns the instance to keep using. In write-behind mode
+   * a game in progress that has been saved before is only marked dirty, and is returned as is.
+   */
+  public GameSession save(GameSession session) {
+    // A join writes through, so the cached instance carries the new player's id.
+    if (writeBehind && session.getVersion() != null && !session.hasUnsavedPlayers() && defer(session)) {
+      put(session, clock.getAsLong());
+      return session;
+    }
+    GameSession saved;
+    try {
+      saved = transactionTemplate != null
+          ? transactionTemplate.execute(status -> write(session, session.drainUnloggedMoves()))
+          : write(session, session.drainUnloggedMoves());
+    }
+    catch (ObjectOptimisticLockingFailureException e) {
+      LOGGER.warn("Session {} was changed concurrently; dropping cached copy", session.getSessionId());
+      evict(session.getSessionId());
+      throw e;
+    }
+    catch (RuntimeException e) {
+      // The moves taken from the session were not written; the cached copy is ahead of the database.
+      evict(session.getSessionId());
+      throw e;
+    }
+    saved.takeBoardFrom(session);
+    if (enabled) {
+      put(saved, clock.getAsLong());
+    }
+    return saved;
+  }
+
+  /**
+   * Writes every dirty session now, including those waiting to retry a failed flush. Does nothing unless
+   * in write-behind mode.
+   */
+  public void flush() {
+    flush(false);
+  }
+
+  private void flush(boolean dueOnly) {
+    synchronized (flushLock) {
+      long now = clock.getAsLong();
+      List<GameSession> batch = new ArrayList<>();
+      synchronized (dirty) {
+        Iterator<GameSession> pending = dirty.values().iterator();
+        while (pending.hasNext()) {
+          GameSession session = pending.next();
+          FlushFailure failure = failedFlushes.get(session.getSessionId());
+          if (dueOnly && failure != null && now - failure.retryAt() < 0) {
+            continue;
+          }
+          batch.add(session);
+          flushing.put(session.getSessionId(), session);
+          pending.remove();
+        }
+      }
+      if (batch.isEmpty()) {
+        return;
+      }
+      try {
+        flushBatch(batch);
+        flushed(batch);
+      }
+      catch (RuntimeException e) {
+        LOGGER.warn("Flushing {} sessions failed; retrying them one at a time", batch.size(), e);
+        for (GameSession session : batch) {
+          try {
+            flushBatch(List.of(session));
+            flushed(List.of(session));
+          }
+          catch (ObjectOptimisticLockingFailureException conflict) {
+            LOGGER.error("Session {} was changed concurrently; dropping its unsaved moves",
+                         session.getSessionId(), conflict);
+            evict(session.getSessionId());
+            eventPublisher.publishEvent(new UnsavedMovesLostEvent(session.getSessionId()));
+          }
+          catch (RuntimeException sessionFailure) {
+            retryLater(session, now, sessionFailure);
+          }
+        }
+      }
+      finally {
+        synchronized (dirty) {
+          flushing.clear();
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops the flusher and writes what is still pending; later saves are written through.
+   */
+  @PreDestroy
+  public void shutdown() {
+    if (flusher == null) {
+      return;
+    }
+    flusher.shutdown();
+    try {
+      flusher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (dirty) {
+      closed = true;
+    }
+    flush();
+  }
+
+  public void evict(String sessionId) {
+    synchronized (dirty) {
+      dirty.remove(sessionId);
+      flushing.remove(sessionId);
+      failedFlushes.remove(sessionId);
+    }
+    synchronized (sessions) {
+      sessions.remove(sessionId);
+    }
+  }
+
+  public int size() {
+    synchronized (sessions) {
+      return sessions.size();
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Sessions saved in write-behind mode and not written yet.
+   */
+  public int getDirtyCount() {
+    synchronized (dirty) {
+      return dirty.size();
+    }
+  }
+
+  /**
+   * Session rows written by write-behind flushes; each may cover several saves.
+   */
+  public long getFlushedSessions() {
+    return flushedSessions.get();
+  }
+
+  /**
+   * Marks {@code session} dirty, unless it must be written now. Finished games are written by an
+   * immediate flush on the flusher thread: the caller may hold the session's lock, which the flusher
+   * also takes.
+   */
+  private boolean defer(GameSession session) {
+    int pending;
+    synchronized (dirty) {
+      if (closed) {
+        return false;
+      }
+      dirty.put(session.getSessionId(), session);
+      pending = dirty.size();
+    }
+    if (session.isFinished() || pending >= maxDirty) {
+      flusher.execute(this::flushDueQuietly);
+    }
+    return true;
+  }
+
+  private void flushed(List<GameSession> batch) {
+    synchronized (dirty) {
+      batch.forEach(session -> failedFlushes.remove(session.getSessionId()));
+    }
+  }
+
+  /**
+   * Puts {@code session} back among the dirty sessions, to be retried once its backoff has elapsed.
+   */
+  private void retryLater(GameSession session, long now, RuntimeException failure) {
+    String sessionId = session.getSessionId();
+    int attempts;
+    long backoff;
+    synchronized (dirty) {
+      FlushFailure previous = failedFlushes.get(sessionId);
+      attempts = previous != null ? previous.attempts() + 1 : 1;
+      backoff = Math.min(flushIntervalNanos << Math.min(attempts - 1, 20), maxFlushBackoffNanos);
+      failedFlushes.put(sessionId, new FlushFailure(attempts, now + backoff));
+      // A save during the flush may already have put it back.
+      dirty.putIfAbsent(sessionId, session);
+    }
+    if (attempts >= maxFlushRetries) {
+      LOGGER.error("Session {} is still not written after {} attempts; retrying in {} ms", sessionId, attempts,
+                   TimeUnit.NANOSECONDS.toMillis(backoff), failure);
+    }
+    else {
+      LOGGER.warn("Flushing session {} failed; retrying in {} ms", sessionId, TimeUnit.NANOSECONDS.toMillis(backoff),
+                  failure);
+    }
+  }
+
+  private boolean isDirty(String sessionId) {
+    synchronized (dirty) {
+      return dirty.containsKey(sessionId) || flushing.containsKey(sessionId);
+    }
+  }
+
+  private void flushDueQuietly() {
+    try {
+      flush(true);
+    }
+    catch (RuntimeException e) {
+      LOGGER.error("Session flush failed", e);
+    }
+  }
+
+  private void flushBatch(List<GameSession> batch) {
+    Map<GameSession, List<GameMove>> logged = new IdentityHashMap<>();
+    Map<GameSession, Integer> versions = new IdentityHashMap<>();
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        for (int from = 0; from < batch.size(); from += UPDATE_BATCH_SIZE) {
+          writeLocked(batch.subList(from, Math.min(batch.size(), from + UPDATE_BATCH_SIZE)), 0, logged, versions);
+        }
+        // Send the batched move inserts now, so they fail here rather than at a commit we may only join.
+        repository.flush();
+      });
+    }
+    catch (RuntimeException e) {
+      // The sessions already updated carry versions the rollback undid.
+      logged.forEach((session, moves) -> {
+        synchronized (session) {
+          session.restoreUnloggedMoves(moves);
+          session.setVersion(versions.get(session));
+        }
+      });
+      throw e;
+    }
+    flushedSessions.addAndGet(batch.size());
+  }
+
+  /**
+   * Logs the moves of {@code chunk} from {@code index} on and updates its rows in one batch, holding the
+   * monitors of all its sessions until then: a row must not be written mid-move. Only the flusher holds
+   * more than one session monitor, always in batch order, so this cannot deadlock with the moves.
+   */
+  private void writeLocked(List<GameSession> chunk, int index, Map<GameSession, List<GameMove>> logged,
+                           Map<GameSession, Integer> versions) {
+    if (index == chunk.size()) {
+      if (moveRepository != null) {
+        repository.saveAllDetached(chunk);
+      }
+      return;
+    }
+    GameSession session = chunk.get(index);
+    synchronized (session) {
+      List<GameMove> moves = session.drainUnloggedMoves();
+      logged.put(session, moves);
+      versions.put(session, session.getVersion());
+      if (moveRepository != null) {
+        logMoves(session, moves);
+      }
+      else {
+        write(session, moves);
+      }
+      writeLocked(chunk, index + 1, logged, versions);
+    }
+  }
+
+  private GameSession write(GameSession session, List<GameMove> moves) {
+    if (moveRepository == null) {
+      // Nothing logs the moves: the session's @PreUpdate snapshots the board for them.
+      session.restoreUnloggedMoves(moves);
+      return repository.save(session);
+    }
+    logMoves(session, moves);
+    return repository.saveDetached(session);
+  }
+
+  private void logMoves(GameSession session, List<GameMove> moves) {
+    if (!moves.isEmpty()) {
+      moveRepository.saveAll(moves);
+    }
+    // Only persisted columns are written, so the snapshot must be taken here.
+    if (session.isSnapshotDue(snapshotInterval)) {
+      session.storeBoardState();
+    }
+  }
+
+  private Optional<GameSession> load(String sessionId) {
+    if (transactionTemplate == null) {
+      return repository.findById(sessionId).map(this::replayTail);
+    }
+    // Touch the lazy players while the persistence context is open; the cached copy outlives it.
+    return transactionTemplate.execute(status -> repository.findById(sessionId).map(session -> {
+      session.getPlayers();
+      return replayTail(session);
+    }));
+  }
+
+  private GameSession replayTail(GameSession session) {
+    if (moveRepository != null && session.getPly() > session.getSnapshotPly()) {
+      session.replay(moveRepository.findBySessionIdAndPlyBetweenOrderByPlyAsc(
+          session.getSessionId(), session.getSnapshotPly() + 1, session.getPly()));
+    }
+    return session;
+  }
+
+  private void put(GameSession session, long now) {
+    boolean overfull;
+    synchronized (sessions) {
+      sessions.put(session.getSessionId(), new CachedSession(session, now));
+      Iterator<CachedSession> eldestFirst = sessions.values().iterator();
+      int skipped = 0;
+      while (eldestFirst.hasNext() && skipped < MAX_DIRTY_SKIPPED) {
+        CachedSession eldest = eldestFirst.next();
+        if (sessions.size() <= maxSize && now - eldest.lastAccess <= idleTimeoutNanos) {
+          break;
+        }
+        // A dirty session is the only up-to-date copy until it has been flushed.
+        if (isDirty(eldest.session.getSessionId())) {
+          skipped++;
+        }
+        else {
+          eldestFirst.remove();
+        }
+      }
+      overfull = sessions.size() > maxSize;
+    }
+    // Only unflushed sessions can hold the cache over its size; writing them lets the next put drop them.
+    if (overfull && flusher != null && !flusher.isShutdown()) {
+      flusher.execute(this::flushDueQuietly);
+    }
+  }
+
+  private record FlushFailure(int attempts, long retryAt) {}
+
+  private static final class CachedSession {
+    private final GameSession session;
+    private long lastAccess;
+
+    private CachedSession(GameSession session, long lastAccess) {
+      this.session = session;
+      this.lastAccess = lastAccess;
+    }
+  }
+}
@@ -5,15 +5,23 @@ import com.project.reversi.model.GameSession;
 import com.project.reversi.model.GameType;
 import com.project.reversi.model.Player;
 import com.project.reversi.repository.JpaGameSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GameSessionService {
 
-  private final JpaGameSessionRepository sessionRepository;
+  private final GameSessionCache sessionCache;
+  private final SessionExecutor sessionExecutor;
 
   public GameSessionService(JpaGameSessionRepository sessionRepository) {
-    this.sessionRepository = sessionRepository;
+    this(GameSessionCache.uncached(sessionRepository), SessionExecutor.inline());
+  }
+
+  @Autowired
+  public GameSessionService(GameSessionCache sessionCache, SessionExecutor sessionExecutor) {
+    this.sessionCache = sessionCache;
+    this.sessionExecutor = sessionExecutor;
   }
 
   /**
@@ -26,7 +34,7 @@ public class GameSessionService {
   public GameSession createGameSession(GameType gameType, Player creator) {
     Board board = new Board(8, 8);
     GameSession session = new GameSession(board, creator, gameType);
-    return sessionRepository.save(session);
+    return sessionCache.save(session);
   }
 
   /**
@@ -36,7 +44,7 @@ public class GameSessionService {
    * @return the GameSession, or null if not found
    */
   public GameSession getSessionById(String sessionId) {
-    return sessionRepository.findById(sessionId).orElse(null);
+    return sessionCache.findById(sessionId).orElse(null);
   }
 
   /**
@@ -47,12 +55,16 @@ public class GameSessionService {
    * @return the updated GameSession
    */
   public GameSession joinGameSession(String sessionId, Player joiningPlayer) {
-    GameSession session = sessionRepository.findById(sessionId).orElse(null);
-    if (session == null) {
-      throw new IllegalArgumentException("Session not found");
-    }
-    session.joinSession(joiningPlayer);
-    return sessionRepository.save(session);
+    return sessionExecutor.call(sessionId, () -> {
+      GameSession session = sessionCache.findById(sessionId).orElse(null);
+      if (session == null) {
+        throw new IllegalArgumentException("Session not found");
+      }
+      synchronized (session) {
+        session.joinSession(joiningPlayer);
+        return sessionCache.save(session);
+      }
+    });
   }
 
 }
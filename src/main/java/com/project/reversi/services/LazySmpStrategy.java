@@ -0,0 +1,123 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy SMP: the requesting thread and {@code threads - 1} helpers run the same iterative-deepening
+ * search on private board copies, sharing the game's transposition table. Helpers start on alternating
+ * depths so they fill the table ahead of the main search; the main search's move is played and the
+ * helpers are stopped as soon as it finishes.
+ */
+public class LazySmpStrategy implements ComputerStrategy, AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LazySmpStrategy.class);
+
+  private final MinMaxAlphaBetaStrat engine;
+  private final int threads;
+  private final ExecutorService helpers;
+
+  public LazySmpStrategy(int maxDepth, Duration timeBudget, int tableSizeBits, int threads) {
+    this(maxDepth, timeBudget, tableSizeBits, threads, 0);
+  }
+
+  /**
+   * @param endgameEmpties empties at or below which the main thread solves the position exactly on its
+   *                       own; see {@link MinMaxAlphaBetaStrat#MinMaxAlphaBetaStrat(int, Duration, int, int)}
+   */
+  public LazySmpStrategy(int maxDepth, Duration timeBudget, int tableSizeBits, int threads, int endgameEmpties) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Lazy SMP needs at least one thread");
+    }
+    if (tableSizeBits <= 0) {
+      throw new IllegalArgumentException("Lazy SMP needs a shared transposition table");
+    }
+    this.engine = new MinMaxAlphaBetaStrat(maxDepth, timeBudget, tableSizeBits, endgameEmpties);
+    this.threads = threads;
+    AtomicInteger helperIndex = new AtomicInteger();
+    this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+      Thread thread = new Thread(runnable, "lazy-smp-" + helperIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }) : null;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  @Override
+  public Position execute(GameSession session, PlayerColor computerColor) {
+    return analyze(session, computerColor).move();
+  }
+
+  @Override
+  public SearchResult analyze(GameSession session, PlayerColor computerColor) {
+    long deadline = engine.searchDeadline();
+    SearchResult solved = engine.solveEndgame(session.getBoard().copyBoard(), computerColor, deadline);
+    if (solved != null) {
+      return solved;
+    }
+    TranspositionTable table = engine.tableFor(session);
+    AtomicBoolean stop = new AtomicBoolean();
+    List<Future<SearchResult>> running = new ArrayList<>(threads - 1);
+    for (int helper = 1; helper < threads; helper++) {
+      int startDepth = 1 + (helper & 1);
+      Board board = session.getBoard().copyBoard();
+      running.add(helpers.submit(() -> engine.deepen(board, computerColor, table, deadline, startDepth, stop)));
+    }
+
+    SearchResult main = engine.deepen(session.getBoard().copyBoard(), computerColor, table, deadline, 1, null);
+    stop.set(true);
+
+    long nodes = main.nodes();
+    long cutoffs = main.cutoffs();
+    long firstMoveCutoffs = main.firstMoveCutoffs();
+    for (Future<SearchResult> helper : running) {
+      // A helper still queued behind other games' searches has nothing to add; only started ones are awaited.
+      if (helper.cancel(false)) {
+        continue;
+      }
+      try {
+        SearchResult helperResult = helper.get();
+        nodes += helperResult.nodes();
+        cutoffs += helperResult.cutoffs();
+        firstMoveCutoffs += helperResult.firstMoveCutoffs();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      catch (ExecutionException e) {
+        LOGGER.warn("Lazy SMP helper failed", e.getCause());
+      }
+    }
+    return new SearchResult(main.move(), main.score(), main.depth(), nodes, cutoffs, firstMoveCutoffs);
+  }
+
+  @Override
+  public void releaseGame(String sessionId) {
+    engine.releaseGame(sessionId);
+  }
+
+  @Override
+  public void close() {
+    if (helpers != null) {
+      helpers.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.project.reversi.services;
+
+import com.project.reversi.dto.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory leaderboard: every player's stats in leaderboard order, in a treap whose nodes count their
+ * subtree. Finding a player's rank or the first row of a page walks one path down the tree, so both
+ * take O(log n) however many players there are.
+ *
+ * <p>Order is wins descending, win rate descending, losses ascending, then user id to keep it total.
+ * Ranks follow SQL {@code RANK()}: players equal on the first three share a rank and leave a gap
+ * after them.
+ */
+public final class LeaderboardIndex {
+
+  private final Map<Long, LeaderboardEntry> byUser = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Random priorities = new Random();
+  private Node root;
+
+  /**
+   * Adds or replaces a player's row. A row with fewer games than the one held is ignored, so updates
+   * that arrive out of order cannot roll a player back.
+   */
+  public void put(LeaderboardEntry stats) {
+    lock.writeLock().lock();
+    try {
+      LeaderboardEntry current = byUser.get(stats.getUserId());
+      if (current != null) {
+        if (current.getGames() >= stats.getGames()) {
+          return;
+        }
+        root = erase(root, current);
+      }
+      LeaderboardEntry entry = stats.withRank(0);
+      byUser.put(entry.getUserId(), entry);
+      Node[] split = split(root, entry);
+      root = merge(merge(split[0], new Node(entry, priorities.nextInt())), split[1]);
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the player's ranked row, or null if they have none.
+   */
+  public LeaderboardEntry get(long userId) {
+    lock.readLock().lock();
+    try {
+      LeaderboardEntry entry = byUser.get(userId);
+      return entry == null ? null : entry.withRank(countAhead(entry) + 1);
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns up to {@code limit} ranked rows starting at position {@code offset} (0-based).
+   */
+  public List<LeaderboardEntry> page(long offset, int limit) {
+    lock.readLock().lock();
+    try {
+      List<LeaderboardEntry> rows = new ArrayList<>(Math.min(limit, size(root)));
+      collect(root, offset, limit, rows);
+      long rank = 0;
+      for (int i = 0; i < rows.size(); i++) {
+        LeaderboardEntry row = rows.get(i);
+        if (i == 0) {
+          // The first row may share its place with rows on earlier pages.
+          rank = countAhead(row) + 1;
+        }
+        else if (!row.ranksEqual(rows.get(i - 1))) {
+          rank = offset + i + 1;
+        }
+        rows.set(i, row.withRank(rank));
+      }
+      return rows;
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size(root);
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Players ranked strictly ahead of entry
+  private int countAhead(LeaderboardEntry entry) {
+    int count = 0;
+    Node node = root;
+    while (node != null) {
+      if (compare(node.entry, entry) < 0 && !node.entry.ranksEqual(entry)) {
+        count += size(node.left) + 1;
+        node = node.right;
+      }
+      else {
+        node = node.left;
+      }
+    }
+    return count;
+  }
+
+  private static void collect(Node node, long offset, int limit, List<LeaderboardEntry> out) {
+    if (node == null || out.size() >= limit) {
+      return;
+    }
+    int leftSize = size(node.left);
+    if (offset < leftSize) {
+      collect(node.left, offset, limit, out);
+    }
+    if (offset <= leftSize && out.size() < limit) {
+      out.add(node.entry);
+    }
+    collect(node.right, Math.max(0, offset - leftSize - 1), limit, out);
+  }
+
+  // Splits into the entries before key and the rest
+  private static Node[] split(Node node, LeaderboardEntry key) {
+    if (node == null) {
+      return new Node[] {null, null};
+    }
+    if (compare(node.entry, key) < 0) {
+      Node[] rest = split(node.right, key);
+      node.right = rest[0];
+      node.resize();
+      return new Node[] {node, rest[1]};
+    }
+    Node[] rest = split(node.left, key);
+    node.left = rest[1];
+    node.resize();
+    return new Node[] {rest[0], node};
+  }
+
+  // Joins two treaps where every entry of first comes before every entry of second
+  private static Node merge(Node first, Node second) {
+    if (first == null) {
+      return second;
+    }
+    if (second == null) {
+      return first;
+    }
+    if (first.priority > second.priority) {
+      first.right = merge(first.right, second);
+      first.resize();
+      return first;
+    }
+    second.left = merge(first, second.left);
+    second.resize();
+    return second;
+  }
+
+  private static Node erase(Node node, LeaderboardEntry key) {
+    int cmp = compare(key, node.entry);
+    if (cmp == 0) {
+      return merge(node.left, node.right);
+    }
+    if (cmp < 0) {
+      node.left = erase(node.left, key);
+    }
+    else {
+      node.right = erase(node.right, key);
+    }
+    node.resize();
+    return node;
+  }
+
+  private static int compare(LeaderboardEntry a, LeaderboardEntry b) {
+    int cmp = Long.compare(b.getWins(), a.getWins());
+    if (cmp == 0) {
+      cmp = Double.compare(b.getWinRate(), a.getWinRate());
+    }
+    if (cmp == 0) {
+      cmp = Long.compare(a.getLosses(), b.getLosses());
+    }
+    return cmp != 0 ? cmp : Long.compare(a.getUserId(), b.getUserId());
+  }
+
+  private static int size(Node node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static final class Node {
+    final LeaderboardEntry entry;
+    final int priority;
+    Node left;
+    Node right;
+    int size = 1;
+
+    Node(LeaderboardEntry entry, int priority) {
+      this.entry = entry;
+      this.priority = priority;
+    }
+
+    void resize() {
+      size = 1 + LeaderboardIndex.size(left) + LeaderboardIndex.size(right);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.LeaderboardProperties;
+import com.project.reversi.dto.LeaderboardEntry;
+import com.project.reversi.dto.LeaderboardRow;
+import com.project.reversi.model.GameFinishedEvent;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerStats;
+import com.project.reversi.model.User;
+import com.project.reversi.repository.JpaGameSessionRepository;
+import com.project.reversi.repository.PlayerStatsRepository;
+import com.project.reversi.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves the leaderboard from {@link PlayerStats}, which is updated as each game finishes. Once loaded,
+ * pages and ranks come from a {@link LeaderboardIndex} kept in step after each commit; without it a
+ * page costs an index read of the page plus one rank count, however many games have been played.
+ */
+@Service
+public class LeaderboardService {
+
+  private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+  static final Sort RANK_ORDER = Sort.by(Sort.Order.desc("wins"), Sort.Order.desc("winRate"),
+                                         Sort.Order.asc("losses"), Sort.Order.asc("userId"));
+
+  private final PlayerStatsRepository statsRepository;
+  private final JpaGameSessionRepository sessionRepository;
+  private final UserRepository userRepository;
+  // Null when disabled; only answers once loaded
+  private final LeaderboardIndex index;
+  private volatile boolean indexLoaded;
+
+  // Pages by "page:size"; an entry is current while its ETag matches the current generation
+  private final Map<String, CachedPage> pageCache = new ConcurrentHashMap<>();
+  private final int maxCachedPages;
+  private final AtomicLong generation = new AtomicLong();
+  // Keeps ETags from another run or instance from matching this one's
+  private final String etagPrefix = Long.toHexString(new SecureRandom().nextLong());
+
+  public LeaderboardService(PlayerStatsRepository statsRepository, JpaGameSessionRepository sessionRepository,
+                            UserRepository userRepository, LeaderboardProperties properties) {
+    this.statsRepository = statsRepository;
+    this.sessionRepository = sessionRepository;
+    this.userRepository = userRepository;
+    this.index = properties.isInMemoryIndex() ? new LeaderboardIndex() : null;
+    this.maxCachedPages = properties.getMaxCachedPages();
+  }
+
+  /**
+   * A leaderboard page and its strong ETag, or a null ETag when pages are not cached.
+   */
+  public record CachedPage(Page<LeaderboardRow> page, String etag) {
+  }
+
+  /**
+   * Returns the page from the cache, which is only invalidated when a PLAYER_VS_PLAYER game finishes.
+   * Until then repeated requests for a page share one result and one ETag.
+   */
+  public CachedPage getCachedLeaderboard(int page, int size) {
+    if (maxCachedPages <= 0) {
+      return new CachedPage(getLeaderboard(PageRequest.of(page, size)), null);
+    }
+    long current = generation.get();
+    String key = page + ":" + size;
+    String etag = "\"" + etagPrefix + "-" + current + "-" + key.replace(':', '-') + "\"";
+    CachedPage cached = pageCache.get(key);
+    if (cached != null && cached.etag().equals(etag)) {
+      return cached;
+    }
+    // Tagged with the generation read before the query: a game finishing meanwhile makes it stale at once.
+    cached = new CachedPage(getLeaderboard(PageRequest.of(page, size)), etag);
+    if (pageCache.size() >= maxCachedPages) {
+      pageCache.clear();
+    }
+    pageCache.put(key, cached);
+    return cached;
+  }
+
+  public Page<LeaderboardRow> getLeaderboard(Pageable pageable) {
+    if (indexLoaded) {
+      List<LeaderboardRow> rows = new ArrayList<>(index.page(pageable.getOffset(), pageable.getPageSize()));
+      return new PageImpl<>(rows, pageable, index.size());
+    }
+    Page<PlayerStats> page = statsRepository.findAll(
+        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), RANK_ORDER));
+    List<LeaderboardRow> rows = new ArrayList<>(page.getNumberOfElements());
+    PlayerStats previous = null;
+    long rank = 0;
+    for (PlayerStats stats : page.getContent()) {
+      long position = page.getPageable().getOffset() + rows.size() + 1;
+      if (previous == null) {
+        // The first row may share its place with rows on earlier pages.
+        rank = rankOf(stats);
+      }
+      else if (!stats.ranksEqual(previous)) {
+        rank = position;
+      }
+      rows.add(new LeaderboardEntry(stats, rank));
+      previous = stats;
+    }
+    return new PageImpl<>(rows, page.getPageable(), page.getTotalElements());
+  }
+
+  /**
+   * Returns the user's row, or null if they have not finished a PLAYER_VS_PLAYER game.
+   */
+  public LeaderboardRow getStats(Long userId) {
+    if (indexLoaded) {
+      return index.get(userId);
+    }
+    return statsRepository.findById(userId)
+                          .map(stats -> new LeaderboardEntry(stats, rankOf(stats)))
+                          .orElse(null);
+  }
+
+  /**
+   * Counts a finished PLAYER_VS_PLAYER game for its seated users. Runs in the transaction that saves the
+   * session, and counts each session once however often it is saved. Other games are only marked as
+   * recorded, so that {@link #load()} does not take them for games it has yet to count.
+   */
+  @EventListener
+  @Transactional
+  public void onGameFinished(GameFinishedEvent event) {
+    if (sessionRepository.markResultRecorded(event.sessionId()) == 0) {
+      return;
+    }
+    if (event.gameType() != GameType.PLAYER_VS_PLAYER) {
+      return;
+    }
+    List<Player> seated = new ArrayList<>(statsRepository.findSeatedAccounts(event.sessionId()));
+    // Lock the users in id order, so games finishing together between the same users cannot deadlock.
+    seated.sort(Comparator.comparing(player -> player.getAccount().getId()));
+    List<LeaderboardEntry> updated = new ArrayList<>(seated.size());
+    for (Player player : seated) {
+      User user = userRepository.lockById(player.getAccount().getId());
+      PlayerStats stats = statsRepository.findById(user.getId()).orElseGet(() -> new PlayerStats(user));
+      stats.record(player.getColor(), event.result());
+      updated.add(new LeaderboardEntry(statsRepository.save(stats), 0));
+    }
+    afterCommit(() -> {
+      if (index != null) {
+        updated.forEach(index::put);
+      }
+      invalidatePages();
+    });
+  }
+
+  /**
+   * Rebuilds the stats from the game history when it holds finished games they do not count yet, which
+   * is the case on the first start with this table, then loads the in-memory index.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void load() {
+    int uncounted = sessionRepository.markAllResultsRecorded();
+    if (uncounted > 0) {
+      statsRepository.deleteAllInBatch();
+      int players = statsRepository.insertTotalsFromHistory();
+      logger.info("Rebuilt leaderboard stats for {} players after finding {} uncounted games", players, uncounted);
+    }
+    if (index != null) {
+      List<LeaderboardEntry> rows = statsRepository.findAll().stream()
+                                                   .map(stats -> new LeaderboardEntry(stats, 0))
+                                                   .toList();
+      afterCommit(() -> {
+        rows.forEach(index::put);
+        indexLoaded = true;
+        invalidatePages();
+        logger.info("Loaded {} players into the leaderboard index", index.size());
+      });
+    }
+  }
+
+  private void invalidatePages() {
+    generation.incrementAndGet();
+    pageCache.clear();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private long rankOf(PlayerStats stats) {
+    return statsRepository.countRankedAhead(stats.getWins(), stats.getWinRate(), stats.getLosses()) + 1;
+  }
+}
@@ -1,123 +1,408 @@
 package com.project.reversi.services;
 
+import com.project.reversi.model.Bitboards;
 import com.project.reversi.model.Board;
 import com.project.reversi.model.GameSession;
-import com.project.reversi.model.GameType;
-import com.project.reversi.model.Piece;
-import com.project.reversi.model.Player;
 import com.project.reversi.model.PlayerColor;
 import com.project.reversi.model.Position;
+import com.project.reversi.model.Zobrist;
 import org.springframework.data.util.Pair;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MinMaxAlphaBetaStrat implements ComputerStrategy {
 
+  private static final Position NO_MOVE = new Position(-1, -1);
+  // How many nodes are searched between two clock reads.
+  private static final int CLOCK_CHECK_INTERVAL = 1024;
+  // Games whose transposition tables are kept between moves; the least recently searched game is dropped.
+  private static final int MAX_CACHED_TABLES = 32;
+
   private int depth;
+  private final Duration timeBudget;
+  private final int tableSizeBits;
+  private final int endgameEmpties;
+  private final Map<String, TranspositionTable> tables = Collections.synchronizedMap(
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TranspositionTable> eldest) {
+          return size() > MAX_CACHED_TABLES;
+        }
+      });
 
   public MinMaxAlphaBetaStrat(int depth){
-    this.depth = depth;
+    this(depth, null);
+  }
+
+  public MinMaxAlphaBetaStrat(int maxDepth, Duration timeBudget) {
+    this(maxDepth, timeBudget, 0);
+  }
+
+  /**
+   * Iterative-deepening mode: searches depth 1, 2, ... up to {@code maxDepth} and stops once
+   * {@code timeBudget} has elapsed, keeping the best move of the last completed depth.
+   * A {@code null} budget searches straight to {@code maxDepth}.
+   *
+   * <p>With {@code tableSizeBits > 0} each game gets a transposition table of {@code 2^tableSizeBits}
+   * buckets that is kept across its moves; 0 disables the table.
+   */
+  public MinMaxAlphaBetaStrat(int maxDepth, Duration timeBudget, int tableSizeBits) {
+    this(maxDepth, timeBudget, tableSizeBits, 0);
+  }
+
+  /**
+   * As above, and once {@code endgameEmpties} or fewer squares are empty the move is chosen by the exact
+   * {@link EndgameSolver} instead; 0 disables the solver.
+   */
+  public MinMaxAlphaBetaStrat(int maxDepth, Duration timeBudget, int tableSizeBits, int endgameEmpties) {
+    this.depth = maxDepth;
+    this.timeBudget = timeBudget;
+    this.tableSizeBits = tableSizeBits;
+    this.endgameEmpties = endgameEmpties;
   }
 
   protected int getDepth() {
     return depth;
   }
 
+  public Duration getTimeBudget() {
+    return timeBudget;
+  }
+
   @Override
   public Position execute(GameSession session, PlayerColor computerColor) {
+    return analyze(session, computerColor).move();
+  }
 
+  @Override
+  public SearchResult analyze(GameSession session, PlayerColor computerColor) {
     Board copyBoard = session.getBoard().copyBoard();
-    GameSession copySession = new GameSession(copyBoard,new Player(computerColor.opposite()), GameType.PLAYER_VS_COMPUTER);
-    var result = minMaxAlphaBeta(copySession,depth,Integer.MIN_VALUE,Integer.MAX_VALUE,computerColor,true);
-    return result.getSecond();
+    // One budget for the whole move: time the solver spent before giving up is not granted again.
+    long deadline = searchDeadline();
+    SearchResult solved = solveEndgame(copyBoard, computerColor, deadline);
+    if (solved != null) {
+      return solved;
+    }
+    TranspositionTable table = tableFor(session);
+    if (timeBudget == null) {
+      SearchContext context = new SearchContext(Long.MAX_VALUE, table);
+      int bestSquare = root(copyBoard, depth, computerColor, -1, context);
+      return context.result(bestSquare, context.rootScore, depth);
+    }
+
+    return deepen(copyBoard, computerColor, table, deadline, 1, null);
+  }
+
+  /**
+   * Iterative deepening from {@code startDepth} up to the configured depth. Stops at {@code deadline}
+   * (once one depth has completed) or as soon as {@code stop} is raised, whichever comes first.
+   */
+  SearchResult deepen(Board board, PlayerColor computerColor, TranspositionTable table, long deadline, int startDepth,
+                      AtomicBoolean stop) {
+    SearchContext context = new SearchContext(deadline, table);
+    context.stop = stop;
+    int empties = Bitboards.SQUARES - Long.bitCount(board.getBits(PlayerColor.BLACK) | board.getBits(PlayerColor.WHITE));
+    int maxDepth = Math.max(1, Math.min(depth, empties));
+    int bestSquare = -1;
+    int bestScore = 0;
+    int completedDepth = 0;
+    for (int iterationDepth = Math.min(startDepth, maxDepth); iterationDepth <= maxDepth; iterationDepth++) {
+      int square = root(board, iterationDepth, computerColor, bestSquare, context);
+      if (context.aborted) {
+        break;
+      }
+      bestSquare = square;
+      bestScore = context.rootScore;
+      completedDepth = iterationDepth;
+      // Depth 1 always completes so there is a move to play; the clock only applies from here on.
+      context.clockArmed = true;
+      if (square < 0) {
+        break;
+      }
+    }
+    return context.result(bestSquare, bestScore, completedDepth);
   }
 
+  /**
+   * Solves the position exactly when few enough squares are empty. The score is the final disc
+   * differential for {@code computerColor}. Returns {@code null} when the solver does not apply or ran
+   * out of time, so the caller falls back to the heuristic search: the best of the moves solved before the
+   * deadline is not proven best, and would be reported as exact.
+   */
+  SearchResult solveEndgame(Board board, PlayerColor computerColor, long deadline) {
+    if (endgameEmpties <= 0 || !board.isBitboardBacked()) {
+      return null;
+    }
+    long own = board.getBits(computerColor);
+    long other = board.getBits(computerColor.opposite());
+    int empties = Bitboards.SQUARES - Long.bitCount(own | other);
+    if (empties > endgameEmpties) {
+      return null;
+    }
+    EndgameSolver solver = new EndgameSolver(deadline);
+    int square = solver.solveBestMove(own, other);
+    if (solver.isAborted()) {
+      return null;
+    }
+    return new SearchResult(toPosition(square), solver.getBestScore(), empties, solver.getNodes());
+  }
+
+  long searchDeadline() {
+    return timeBudget == null ? Long.MAX_VALUE : System.nanoTime() + timeBudget.toNanos();
+  }
 
-  public Pair<Integer,Position> minMaxAlphaBeta(GameSession game , int depth, int alpha, int beta, PlayerColor computerColor, boolean isComputer){
+  /**
+   * Fixed-depth search from {@code board}: returns the score and the best move for the side to move.
+   */
+  public Pair<Integer,Position> minMaxAlphaBeta(Board board, int depth, int alpha, int beta, PlayerColor computerColor, boolean isComputer){
+    SearchContext context = new SearchContext(Long.MAX_VALUE, null);
+    PlayerColor toMove = isComputer ? computerColor : computerColor.opposite();
+    long moves = board.legalMoveMask(toMove);
+    if (depth == 0 || moves == 0) {
+      return Pair.of(search(board, depth, 0, alpha, beta, computerColor, isComputer, context), NO_MOVE);
+    }
+    MoveOrdering ordering = context.ordering;
+    int count = ordering.order(moves, -1, 0, toMove);
+    int bestSquare = -1;
+    for (int index = 0; index < count; index++) {
+      int square = ordering.move(0, index);
+      long flips = board.computeFlipMask(square, toMove);
+      board.make(square, flips, toMove);
+      int score = search(board, depth - 1, 1, alpha, beta, computerColor, !isComputer, context);
+      board.unmake(square, flips, toMove);
+      if (isComputer ? score >= alpha : score <= beta) {
+        if (isComputer) {
+          alpha = score;
+        } else {
+          beta = score;
+        }
+        bestSquare = square;
+        if (alpha >= beta) {
+          ordering.cutoff(0, index, square, toMove, depth);
+          break;
+        }
+      }
+    }
+    return Pair.of(isComputer ? alpha : beta, toPosition(bestSquare));
+  }
 
-    Board board = game.getBoard();
-    if(game.isGameOver() || depth == 0) {
-      return Pair.of(evalFunction(game,computerColor),new Position(-1,-1));
+  /**
+   * Searches the computer's moves to {@code depth}, trying {@code firstSquare} (the best move of the
+   * previous iteration) first. Returns the best square, or -1 when the computer has to pass.
+   */
+  private int root(Board board, int depth, PlayerColor computerColor, int firstSquare, SearchContext context) {
+    long moves = board.legalMoveMask(computerColor);
+    if (moves == 0) {
+      context.rootScore = search(board, depth, 0, Integer.MIN_VALUE, Integer.MAX_VALUE, computerColor, true, context);
+      return -1;
+    }
+    if (firstSquare < 0 && context.table != null) {
+      long entry = context.table.probe(board.getHash() ^ Zobrist.sideToMove(computerColor));
+      int tableMove = entry != 0 ? TranspositionTable.bestMove(entry) : TranspositionTable.NO_MOVE;
+      firstSquare = tableMove != TranspositionTable.NO_MOVE ? tableMove : -1;
+    }
+    int alpha = Integer.MIN_VALUE;
+    int bestSquare = -1;
+    MoveOrdering ordering = context.ordering;
+    int count = ordering.order(moves, firstSquare, 0, computerColor);
+    for (int index = 0; index < count; index++) {
+      int square = ordering.move(0, index);
+      long flips = board.computeFlipMask(square, computerColor);
+      board.make(square, flips, computerColor);
+      int score = search(board, depth - 1, 1, alpha, Integer.MAX_VALUE, computerColor, false, context);
+      board.unmake(square, flips, computerColor);
+      if (context.aborted) {
+        return bestSquare;
+      }
+      if (score > alpha || bestSquare < 0) {
+        alpha = score;
+        bestSquare = square;
+      }
+    }
+    context.rootScore = alpha;
+    if (context.table != null) {
+      context.table.store(board.getHash() ^ Zobrist.sideToMove(computerColor), depth, TranspositionTable.EXACT, alpha,
+                          bestSquare);
     }
-    if (isComputer){
-      List<Position> validMoves = game.computeValidMoves(computerColor);
-      int[] bestMove = new int[]{-1, -1};
+    return bestSquare;
+  }
 
-      if(validMoves.isEmpty()){
-        Pair<Integer, Position> passResult = minMaxAlphaBeta(game, depth, alpha, beta, computerColor, false);
-        return Pair.of(passResult.getFirst(), new Position(-1, -1));
+  private int search(Board board, int depth, int ply, int alpha, int beta, PlayerColor computerColor,
+                     boolean isComputer, SearchContext context) {
+    if (context.outOfTime()) {
+      return 0;
+    }
+    PlayerColor toMove = isComputer ? computerColor : computerColor.opposite();
+    long moves = board.legalMoveMask(toMove);
+    if (moves == 0) {
+      if (depth == 0 || !board.hasLegalMove(toMove.opposite())) {
+        return evalFunction(board, computerColor);
       }
-      for(Position move : validMoves) {
-        List<Piece> cellsCaptured = board.computeFlips(move.row(),move.col(),computerColor);
-        if(!cellsCaptured.isEmpty()){
-          board.applyMove(move.row(),move.col(),computerColor,cellsCaptured);
-        }
-        var score = minMaxAlphaBeta(game,depth - 1,alpha,beta,computerColor,false);
-        board.undoMove(move.row(),move.col(),computerColor,cellsCaptured);
-        if(score.getFirst() >= alpha){
-          alpha = score.getFirst();
-          bestMove[0] = move.row();
-          bestMove[1] = move.col();
-          if(alpha >= beta) {
-            break;
+      // Pass: the other side moves at the same depth.
+      return search(board, depth, ply + 1, alpha, beta, computerColor, !isComputer, context);
+    }
+    if (depth == 0) {
+      return evalFunction(board, computerColor);
+    }
+
+    TranspositionTable table = context.table;
+    long key = 0L;
+    int firstSquare = TranspositionTable.NO_MOVE;
+    int originalAlpha = alpha;
+    int originalBeta = beta;
+    if (table != null) {
+      key = board.getHash() ^ Zobrist.sideToMove(toMove);
+      long entry = table.probe(key);
+      if (entry != 0) {
+        firstSquare = TranspositionTable.bestMove(entry);
+        if (TranspositionTable.depth(entry) >= depth) {
+          int stored = TranspositionTable.score(entry);
+          switch (TranspositionTable.bound(entry)) {
+            case TranspositionTable.EXACT:
+              return stored;
+            case TranspositionTable.LOWER_BOUND:
+              alpha = Math.max(alpha, stored);
+              break;
+            default:
+              beta = Math.min(beta, stored);
+          }
+          if (alpha >= beta) {
+            return stored;
           }
         }
       }
-      return Pair.of(alpha,new Position(bestMove[0],bestMove[1]));
     }
-    else {
-      PlayerColor oppositeColor = computerColor.opposite();
-      List<Position> validMoves = game.computeValidMoves(oppositeColor);
 
-      if(validMoves.isEmpty()){
-        Pair<Integer, Position> passResult = minMaxAlphaBeta(game, depth, alpha, beta, computerColor, true);
-        return Pair.of(passResult.getFirst(), new Position(-1, -1));
-      }
-      for(Position move : validMoves){
-        List<Piece> cellsCaptured = board.computeFlips(move.row(),move.col(),computerColor);
-        if(!cellsCaptured.isEmpty()){
-          board.applyMove(move.row(),move.col(),computerColor,cellsCaptured);
+    int bestSquare = TranspositionTable.NO_MOVE;
+    MoveOrdering ordering = context.ordering;
+    int count = ordering.order(moves, firstSquare, ply, toMove);
+    for (int index = 0; index < count; index++) {
+      int square = ordering.move(ply, index);
+      long flips = board.computeFlipMask(square, toMove);
+      board.make(square, flips, toMove);
+      int score = search(board, depth - 1, ply + 1, alpha, beta, computerColor, !isComputer, context);
+      board.unmake(square, flips, toMove);
+      if (isComputer ? score > alpha : score < beta) {
+        bestSquare = square;
+        if (isComputer) {
+          alpha = score;
+        } else {
+          beta = score;
         }
-        var score = minMaxAlphaBeta(game,depth - 1,alpha,beta,computerColor,true);
-        board.undoMove(move.row(),move.col(),oppositeColor,cellsCaptured);
-        if(score.getFirst() <= beta) {
-          beta = score.getFirst();
-          if(alpha >= beta){
-            break;
-          }
+      }
+      if (alpha >= beta) {
+        if (!context.aborted) {
+          ordering.cutoff(ply, index, square, toMove, depth);
         }
+        break;
       }
-      return Pair.of(beta,new Position(-1,-1));
     }
+    int result = isComputer ? alpha : beta;
+    if (table != null && !context.aborted) {
+      int bound = result <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                  : result >= originalBeta ? TranspositionTable.LOWER_BOUND
+                  : TranspositionTable.EXACT;
+      table.store(key, depth, bound, result, bestSquare);
+    }
+    return result;
   }
-  // 8x8 Reversi positional weights (corners high, X/C squares negative)
-private static final int[][] POSITION_WEIGHTS = {
-    {100, -20, 10, 5, 5, 10, -20, 100},
-    {-20, -50, -2, -2, -2, -2, -50, -20},
-    {10,  -2,  5,  1,  1,  5,  -2,  10},
-    {5,   -2,  1,  0,  0,  1,  -2,   5},
-    {5,   -2,  1,  0,  0,  1,  -2,   5},
-    {10,  -2,  5,  1,  1,  5,  -2,  10},
-    {-20, -50, -2, -2, -2, -2, -50, -20},
-    {100, -20, 10, 5, 5, 10, -20, 100}
-};
-
-public int evalFunction(GameSession game, PlayerColor computerColor) {
-  PlayerColor opponent = computerColor.opposite();
-  Board board = game.getBoard();
-  int score = 0;
-  for (int row = 0; row < board.getNumRows(); row++) {
-    for (int col = 0; col < board.getNumColumns(); col++) {
-      Piece piece = board.getPiece(row, col);
-      if (piece != null) {
-        if (piece.getColor().equals(computerColor)) {
-          score += POSITION_WEIGHTS[row][col];
-        } else if (piece.getColor().equals(opponent)) {
-          score -= POSITION_WEIGHTS[row][col];
-        }
+
+  TranspositionTable tableFor(GameSession session) {
+    if (tableSizeBits <= 0 || session.getSessionId() == null) {
+      return null;
+    }
+    TranspositionTable table = tables.computeIfAbsent(session.getSessionId(),
+                                                      id -> new TranspositionTable(tableSizeBits));
+    table.newSearch();
+    return table;
+  }
+
+  /**
+   * Forgets the transposition table kept for a game, e.g. once it is over.
+   */
+  @Override
+  public void releaseGame(String sessionId) {
+    tables.remove(sessionId);
+  }
+
+  private static Position toPosition(int square) {
+    return square < 0 ? NO_MOVE : new Position(Bitboards.row(square), Bitboards.col(square));
+  }
+
+  /**
+   * Per-call search state, so one strategy instance can serve concurrent games.
+   */
+  private static final class SearchContext {
+    private final long deadline;
+    private final TranspositionTable table;
+    private final MoveOrdering ordering = new MoveOrdering();
+    private AtomicBoolean stop;
+    private long nodes;
+    private boolean clockArmed;
+    private boolean aborted;
+    private int rootScore;
+
+    private SearchContext(long deadline, TranspositionTable table) {
+      this.deadline = deadline;
+      this.table = table;
+    }
+
+    private SearchResult result(int bestSquare, int score, int depth) {
+      return new SearchResult(toPosition(bestSquare), score, depth, nodes, ordering.getCutoffs(),
+                              ordering.getFirstMoveCutoffs());
+    }
+
+    private boolean outOfTime() {
+      if (aborted) {
+        return true;
+      }
+      nodes++;
+      if ((nodes % CLOCK_CHECK_INTERVAL) == 0) {
+        aborted = (stop != null && stop.get()) || (clockArmed && System.nanoTime() >= deadline);
       }
+      return aborted;
     }
   }
-  return score;
-}
+
+  // 8x8 Reversi positional weights (corners high, X/C squares negative)
+  private static final int[][] POSITION_WEIGHTS = {
+      {100, -20, 10, 5, 5, 10, -20, 100},
+      {-20, -50, -2, -2, -2, -2, -50, -20},
+      {10,  -2,  5,  1,  1,  5,  -2,  10},
+      {5,   -2,  1,  0,  0,  1,  -2,   5},
+      {5,   -2,  1,  0,  0,  1,  -2,   5},
+      {10,  -2,  5,  1,  1,  5,  -2,  10},
+      {-20, -50, -2, -2, -2, -2, -50, -20},
+      {100, -20, 10, 5, 5, 10, -20, 100}
+  };
+
+  // Same weights indexed by bitboard square.
+  private static final int[] SQUARE_WEIGHTS = new int[Bitboards.SQUARES];
+
+  static {
+    for (int square = 0; square < Bitboards.SQUARES; square++) {
+      SQUARE_WEIGHTS[square] = POSITION_WEIGHTS[Bitboards.row(square)][Bitboards.col(square)];
+    }
+  }
+
+  public int evalFunction(GameSession game, PlayerColor computerColor) {
+    return evalFunction(game.getBoard(), computerColor);
+  }
+
+  public int evalFunction(Board board, PlayerColor computerColor) {
+    return weight(board.getBits(computerColor)) - weight(board.getBits(computerColor.opposite()));
+  }
+
+  private static int weight(long discs) {
+    int score = 0;
+    while (discs != 0) {
+      score += SQUARE_WEIGHTS[Long.numberOfTrailingZeros(discs)];
+      discs &= discs - 1;
+    }
+    return score;
+  }
 }
@@ -0,0 +1,124 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Bitboards;
+import com.project.reversi.model.PlayerColor;
+
+/**
+ * Orders moves for the alpha-beta search: the transposition-table move first, then the two killer moves
+ * of the ply, then the rest by history score with a static square priority (corners first, X-squares
+ * last) as tie-breaker.
+ *
+ * <p>One instance belongs to one search thread. It also counts beta cutoffs and how many of them came
+ * from the first move tried, which is the usual measure of how well the ordering works.
+ */
+public final class MoveOrdering {
+
+  public static final int MAX_PLY = 128;
+
+  private static final int NO_SQUARE = -1;
+  private static final int TABLE_MOVE_KEY = Integer.MAX_VALUE;
+  private static final int FIRST_KILLER_KEY = Integer.MAX_VALUE - 1;
+  private static final int SECOND_KILLER_KEY = Integer.MAX_VALUE - 2;
+  // Keeps history keys below the killer keys once shifted past the priority bits.
+  private static final int HISTORY_LIMIT = 1 << 22;
+  private static final int PRIORITY_BITS = 8;
+
+  // Static priority per square, 0..255: corners first, X-squares last.
+  private static final int[][] SQUARE_PRIORITY_GRID = {
+      {255, 40, 200, 160, 160, 200, 40, 255},
+      {40,   0,  80,  80,  80,  80,  0,  40},
+      {200, 80, 180, 140, 140, 180, 80, 200},
+      {160, 80, 140, 120, 120, 140, 80, 160},
+      {160, 80, 140, 120, 120, 140, 80, 160},
+      {200, 80, 180, 140, 140, 180, 80, 200},
+      {40,   0,  80,  80,  80,  80,  0,  40},
+      {255, 40, 200, 160, 160, 200, 40, 255}
+  };
+  private static final int[] SQUARE_PRIORITY = new int[Bitboards.SQUARES];
+
+  static {
+    for (int square = 0; square < Bitboards.SQUARES; square++) {
+      SQUARE_PRIORITY[square] = SQUARE_PRIORITY_GRID[Bitboards.row(square)][Bitboards.col(square)];
+    }
+  }
+
+  private final int[][] killers = new int[MAX_PLY][2];
+  private final int[][] history = new int[PlayerColor.values().length][Bitboards.SQUARES];
+  private final int[][] squares = new int[MAX_PLY][Bitboards.SQUARES];
+  private final int[][] keys = new int[MAX_PLY][Bitboards.SQUARES];
+  private long cutoffs;
+  private long firstMoveCutoffs;
+
+  public MoveOrdering() {
+    for (int[] plyKillers : killers) {
+      plyKillers[0] = NO_SQUARE;
+      plyKillers[1] = NO_SQUARE;
+    }
+  }
+
+  /**
+   * Sorts {@code moves} for {@code ply} and returns how many there are; read them back with
+   * {@link #move(int, int)}. {@code tableMove} is tried first when legal, pass a negative value for none.
+   */
+  public int order(long moves, int tableMove, int ply, PlayerColor toMove) {
+    int[] plySquares = squares[ply];
+    int[] plyKeys = keys[ply];
+    int[] plyKillers = killers[ply];
+    int[] colorHistory = history[toMove.ordinal()];
+    int count = 0;
+    while (moves != 0) {
+      int square = Long.numberOfTrailingZeros(moves);
+      moves &= moves - 1;
+      int key;
+      if (square == tableMove) {
+        key = TABLE_MOVE_KEY;
+      } else if (square == plyKillers[0]) {
+        key = FIRST_KILLER_KEY;
+      } else if (square == plyKillers[1]) {
+        key = SECOND_KILLER_KEY;
+      } else {
+        key = (colorHistory[square] << PRIORITY_BITS) | SQUARE_PRIORITY[square];
+      }
+      // Insertion sort, highest key first: positions rarely have more than a dozen moves.
+      int slot = count++;
+      while (slot > 0 && plyKeys[slot - 1] < key) {
+        plySquares[slot] = plySquares[slot - 1];
+        plyKeys[slot] = plyKeys[slot - 1];
+        slot--;
+      }
+      plySquares[slot] = square;
+      plyKeys[slot] = key;
+    }
+    return count;
+  }
+
+  public int move(int ply, int index) {
+    return squares[ply][index];
+  }
+
+  /**
+   * Records that the {@code index}-th move tried at {@code ply} caused a beta cutoff with
+   * {@code depth} plies left.
+   */
+  public void cutoff(int ply, int index, int square, PlayerColor toMove, int depth) {
+    cutoffs++;
+    if (index == 0) {
+      firstMoveCutoffs++;
+    }
+    int[] plyKillers = killers[ply];
+    if (plyKillers[0] != square) {
+      plyKillers[1] = plyKillers[0];
+      plyKillers[0] = square;
+    }
+    int[] colorHistory = history[toMove.ordinal()];
+    colorHistory[square] = Math.min(HISTORY_LIMIT - 1, colorHistory[square] + depth * depth);
+  }
+
+  public long getCutoffs() {
+    return cutoffs;
+  }
+
+  public long getFirstMoveCutoffs() {
+    return firstMoveCutoffs;
+  }
+}
@@ -0,0 +1,22 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Position;
+
+/**
+ * Outcome of a computer search: the chosen move, its score, the deepest fully completed depth,
+ * the number of positions visited, and how many beta cutoffs happened (and how many of those on the
+ * first move tried).
+ */
+public record SearchResult(Position move, int score, int depth, long nodes, long cutoffs, long firstMoveCutoffs) {
+
+  public SearchResult(Position move, int score, int depth, long nodes) {
+    this(move, score, depth, nodes, 0, 0);
+  }
+
+  /**
+   * Share of cutoffs produced by the first move tried, 0 when there were none.
+   */
+  public double firstMoveCutoffRate() {
+    return cutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+  }
+}
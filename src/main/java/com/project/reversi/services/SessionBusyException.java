@@ -0,0 +1,12 @@
+package com.project.reversi.services;
+
+/**
+ * Thrown by {@link SessionExecutor} when a change could not start within the timeout. The change has
+ * been dropped without running, so the caller may safely retry it.
+ */
+public class SessionBusyException extends IllegalStateException {
+
+  public SessionBusyException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,194 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.SessionExecutorProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Serializes the changes to each game session: every session id maps to one of a fixed number of
+ * single-threaded stripes, which runs that session's changes one after another in arrival order.
+ * Two moves posted at once on one session no longer race to the {@code @Version} check, while
+ * sessions on different stripes proceed in parallel.
+ *
+ * <p>Callers block until their change has run. A change submitted from the stripe that owns the
+ * session runs immediately, so changes may nest. A change still queued when the timeout expires is
+ * dropped and the caller gets a {@link SessionBusyException}; one that has already started is waited
+ * for, so the caller never reports as failed a change that went through.
+ */
+@Component
+public class SessionExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SessionExecutor.class);
+
+  private final ThreadPoolExecutor[] stripes;
+  private final Thread[] stripeThreads;
+  private final long timeoutNanos;
+
+  public SessionExecutor(SessionExecutorProperties properties) {
+    this.timeoutNanos = properties.getTimeout().toNanos();
+    if (!properties.isEnabled()) {
+      this.stripes = null;
+      this.stripeThreads = null;
+      return;
+    }
+    int count = Math.max(1, properties.getStripes());
+    this.stripes = new ThreadPoolExecutor[count];
+    this.stripeThreads = new Thread[count];
+    for (int i = 0; i < count; i++) {
+      int stripe = i;
+      stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                                          runnable -> {
+                                            Thread thread = new Thread(runnable, "session-" + stripe);
+                                            thread.setDaemon(true);
+                                            stripeThreads[stripe] = thread;
+                                            return thread;
+                                          });
+      // Start the thread now so stripeThreads is complete before any change is submitted.
+      stripes[i].prestartCoreThread();
+    }
+  }
+
+  /**
+   * Executor that runs every change on the calling thread.
+   */
+  public static SessionExecutor inline() {
+    SessionExecutorProperties properties = new SessionExecutorProperties();
+    properties.setEnabled(false);
+    return new SessionExecutor(properties);
+  }
+
+  /**
+   * Runs {@code change} on the stripe owning {@code sessionId} and returns its result. Runtime exceptions
+   * thrown by the change are rethrown as they are.
+   *
+   * @throws SessionBusyException if the change did not start within the configured timeout; it will not run
+   */
+  public <T> T call(String sessionId, Supplier<T> change) {
+    if (stripes == null) {
+      return change.get();
+    }
+    int stripe = stripeOf(sessionId);
+    if (Thread.currentThread() == stripeThreads[stripe]) {
+      return change.get();
+    }
+    // Claimed by whichever comes first: the stripe starting the change, or the caller giving up on it.
+    AtomicBoolean claimed = new AtomicBoolean();
+    Future<T> result = stripes[stripe].submit(() -> claimed.compareAndSet(false, true) ? change.get() : null);
+    try {
+      return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+    catch (TimeoutException e) {
+      if (claimed.compareAndSet(false, true)) {
+        result.cancel(false);
+        throw new SessionBusyException("Timed out waiting for session " + sessionId);
+      }
+      return awaitStarted(result);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      if (claimed.compareAndSet(false, true)) {
+        result.cancel(false);
+        throw new SessionBusyException("Interrupted waiting for session " + sessionId);
+      }
+      return awaitStarted(result);
+    }
+    catch (ExecutionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * Waits for a change that has already started, however long it takes, keeping any interrupt for later.
+   */
+  private static <T> T awaitStarted(Future<T> result) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return result.get();
+        }
+        catch (InterruptedException e) {
+          interrupted = true;
+        }
+        catch (ExecutionException e) {
+          throw unwrap(e);
+        }
+      }
+    }
+    finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static RuntimeException unwrap(ExecutionException e) {
+    if (e.getCause() instanceof RuntimeException cause) {
+      return cause;
+    }
+    if (e.getCause() instanceof Error error) {
+      throw error;
+    }
+    return new IllegalStateException(e.getCause());
+  }
+
+  public void run(String sessionId, Runnable change) {
+    call(sessionId, () -> {
+      change.run();
+      return null;
+    });
+  }
+
+  /**
+   * Changes waiting for their stripe, across all stripes.
+   */
+  public int getQueuedChanges() {
+    if (stripes == null) {
+      return 0;
+    }
+    int queued = 0;
+    for (ThreadPoolExecutor stripe : stripes) {
+      queued += stripe.getQueue().size();
+    }
+    return queued;
+  }
+
+  int stripeOf(String sessionId) {
+    int hash = sessionId.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (stripes == null) {
+      return;
+    }
+    for (ThreadPoolExecutor stripe : stripes) {
+      stripe.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor stripe : stripes) {
+        if (!stripe.awaitTermination(5, TimeUnit.SECONDS)) {
+          LOGGER.warn("Abandoning {} pending session changes on shutdown", stripe.shutdownNow().size());
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      for (ThreadPoolExecutor stripe : stripes) {
+        stripe.shutdownNow();
+      }
+      Thread.currentThread().interrupt();
+    }
+  }
+}
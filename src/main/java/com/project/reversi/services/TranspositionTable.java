@@ -0,0 +1,119 @@
+package com.project.reversi.services;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table for the alpha-beta search.
+ *
+ * <p>Entries are two {@code long}s: the packed data and the position key XORed with that data.
+ * A reader only trusts an entry whose key and data still XOR back to the probed key, so threads can
+ * share one table without locks; a torn write simply looks like a miss.
+ *
+ * <p>Each bucket has two slots. The first keeps the deepest result (unless it is from an older search),
+ * the second always takes the newest one.
+ */
+public final class TranspositionTable {
+
+  public static final int EXACT = 0;
+  public static final int LOWER_BOUND = 1;   // score >= stored score (fail high)
+  public static final int UPPER_BOUND = 2;   // score <= stored score (fail low)
+
+  public static final int NO_MOVE = 64;
+
+  private static final long SCORE_MASK = 0xFFFFFFFFL;
+  private static final int DEPTH_SHIFT = 32;
+  private static final int BOUND_SHIFT = 40;
+  private static final int MOVE_SHIFT = 42;
+  private static final int GENERATION_SHIFT = 49;
+  // Set on every stored entry so that an all-zero slot always reads as empty.
+  private static final long OCCUPIED = 1L << 57;
+
+  private final long[] keys;
+  private final long[] data;
+  private final int bucketMask;
+  private volatile int generation;
+
+  /**
+   * @param sizeBits the table holds {@code 2^sizeBits} buckets of two entries
+   */
+  public TranspositionTable(int sizeBits) {
+    if (sizeBits < 1 || sizeBits > 26) {
+      throw new IllegalArgumentException("Transposition table size must be between 2^1 and 2^26 buckets");
+    }
+    int buckets = 1 << sizeBits;
+    keys = new long[buckets * 2];
+    data = new long[buckets * 2];
+    bucketMask = buckets - 1;
+  }
+
+  /**
+   * Marks the start of a new search so entries from earlier moves become preferred victims.
+   */
+  public void newSearch() {
+    generation = (generation + 1) & 0xFF;
+  }
+
+  /**
+   * Returns the packed entry for {@code key}, or {@code 0} on a miss. Decode it with the static accessors.
+   */
+  public long probe(long key) {
+    int slot = (int) (key & bucketMask) << 1;
+    long entry = data[slot];
+    if ((keys[slot] ^ entry) == key && entry != 0) {
+      return entry;
+    }
+    entry = data[slot + 1];
+    if ((keys[slot + 1] ^ entry) == key && entry != 0) {
+      return entry;
+    }
+    return 0L;
+  }
+
+  public void store(long key, int depth, int bound, int score, int bestMove) {
+    int currentGeneration = generation;
+    long entry = (score & SCORE_MASK)
+                 | ((long) depth << DEPTH_SHIFT)
+                 | ((long) bound << BOUND_SHIFT)
+                 | ((long) bestMove << MOVE_SHIFT)
+                 | ((long) currentGeneration << GENERATION_SHIFT)
+                 | OCCUPIED;
+    int slot = (int) (key & bucketMask) << 1;
+    long deepest = data[slot];
+    boolean sameKey = (keys[slot] ^ deepest) == key;
+    if (sameKey || deepest == 0 || generation(deepest) != currentGeneration || depth >= depth(deepest)) {
+      write(slot, key, entry);
+    } else {
+      write(slot + 1, key, entry);
+    }
+  }
+
+  private void write(int slot, long key, long entry) {
+    data[slot] = entry;
+    keys[slot] = key ^ entry;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0L);
+    Arrays.fill(data, 0L);
+  }
+
+  public static int score(long entry) {
+    return (int) entry;
+  }
+
+  public static int depth(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  public static int bound(long entry) {
+    return (int) (entry >>> BOUND_SHIFT) & 0x3;
+  }
+
+  public static int bestMove(long entry) {
+    return (int) (entry >>> MOVE_SHIFT) & 0x7F;
+  }
+
+  private static int generation(long entry) {
+    return (int) (entry >>> GENERATION_SHIFT) & 0xFF;
+  }
+}
@@ -0,0 +1,8 @@
+package com.project.reversi.services;
+
+/**
+ * Published when the write-behind {@link GameSessionCache} drops moves of a session because its row was
+ * changed elsewhere in the meantime. The cached copy is gone by then; the next read loads the row that won.
+ */
+public record UnsavedMovesLostEvent(String sessionId) {
+}
@@ -0,0 +1,72 @@
+-- Schema for the entities in com.project.reversi.model; Hibernate only validates it (ddl-auto=validate).
+-- The covering indexes use INCLUDE, which needs PostgreSQL 11 or later.
+
+CREATE SEQUENCE game_move_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE app_user (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_app_user_username UNIQUE (username)
+);
+
+CREATE TABLE game_session (
+    session_id         VARCHAR(255) PRIMARY KEY,
+    game_type          VARCHAR(255),
+    game_state         VARCHAR(255),
+    created_at         TIMESTAMP,
+    last_modified_at   TIMESTAMP,
+    current_turn_index INTEGER NOT NULL,
+    white_score        INTEGER NOT NULL,
+    black_score        INTEGER NOT NULL,
+    board_data         BYTEA,
+    board_state        TEXT,
+    ply                INTEGER DEFAULT 0 NOT NULL,
+    snapshot_ply       INTEGER DEFAULT 0 NOT NULL,
+    version            INTEGER,
+    result_recorded    BOOLEAN DEFAULT FALSE NOT NULL
+);
+
+CREATE TABLE player (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    session_id  VARCHAR(255) CONSTRAINT fk_player_session REFERENCES game_session (session_id),
+    seat_index  INTEGER NOT NULL,
+    color       VARCHAR(255) NOT NULL,
+    is_computer BOOLEAN NOT NULL,
+    nick_name   VARCHAR(255),
+    user_id     BIGINT CONSTRAINT fk_player_user REFERENCES app_user (id)
+);
+
+CREATE TABLE game_move (
+    id         BIGINT PRIMARY KEY,
+    session_id VARCHAR(36) NOT NULL,
+    ply        INTEGER NOT NULL,
+    color      VARCHAR(255) NOT NULL,
+    is_pass    BOOLEAN NOT NULL,
+    move_row   INTEGER,
+    move_col   INTEGER,
+    CONSTRAINT uk_game_move_session_ply UNIQUE (session_id, ply)
+);
+
+CREATE TABLE player_stats (
+    user_id  BIGINT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    games    BIGINT NOT NULL,
+    wins     BIGINT NOT NULL,
+    losses   BIGINT NOT NULL,
+    draws    BIGINT NOT NULL,
+    win_rate DOUBLE PRECISION NOT NULL
+);
+
+-- Seats of a session: loading a session's players and the leaderboard join
+CREATE INDEX idx_player_session ON player (session_id);
+-- Seats of a user, covering the columns the leaderboard aggregation reads; computer seats have no user
+CREATE INDEX idx_player_user ON player (user_id) INCLUDE (session_id, color) WHERE user_id IS NOT NULL;
+-- Finished PvP games, the only ones the leaderboard aggregation reads
+CREATE INDEX idx_game_session_finished_pvp ON game_session (session_id) INCLUDE (game_state)
+    WHERE game_type = 'PLAYER_VS_PLAYER' AND game_state <> 'IN_PROGRESS';
+-- Finished games whose result is not counted in player_stats yet; normally empty
+CREATE INDEX idx_game_session_unrecorded ON game_session (session_id)
+    WHERE NOT result_recorded AND game_state <> 'IN_PROGRESS';
+-- Leaderboard order
+CREATE INDEX idx_player_stats_rank ON player_stats (wins DESC, win_rate DESC, losses ASC, user_id ASC);
@@ -41,7 +41,6 @@ document.addEventListener("DOMContentLoaded", function() {
   Reversi.state.clientColor = Reversi.state.clientColor || "WHITE";
   Reversi.state.currentSessionSummary = Reversi.state.currentSessionSummary || null;
   Reversi.state.stompClient = Reversi.state.stompClient || null;
-  Reversi.state.renderSequence = Reversi.state.renderSequence || 0;
   Reversi.state.matchmakingClient = Reversi.state.matchmakingClient || null;
   Reversi.state.matchmakingSubscription = Reversi.state.matchmakingSubscription || null;
   Reversi.state.matchmakingTicketId = Reversi.state.matchmakingTicketId || null;
@@ -63,6 +63,41 @@
       });
   }
 
+  function spectateGame(explicitSessionId) {
+    const { overlay } = Reversi.elements;
+    const sessionIdInput = document.getElementById("sessionIdInput");
+    const providedId = typeof explicitSessionId === "string" ? explicitSessionId.trim() : "";
+    const enteredId = sessionIdInput && typeof sessionIdInput.value === "string"
+      ? sessionIdInput.value.trim()
+      : "";
+    const targetSessionId = providedId || enteredId;
+    if (!targetSessionId) {
+      alert("Please enter a session ID");
+      return;
+    }
+    console.log("spectateGame called with sessionId:", targetSessionId);
+    overlay.classList.add("hidden");
+    // Spectators have no color, so they are never offered moves.
+    Reversi.state.clientColor = null;
+    Reversi.state.currentSessionSummary = null;
+    connectToSocket(targetSessionId, true);
+  }
+
+  // Frames are a snapshot followed by the deltas published since; live deltas that came first were ignored.
+  function catchUp(data) {
+    const frames = Array.isArray(data.frames) ? data.frames : [];
+    if (frames.length === 0) {
+      alert("Game not found");
+      quitGame();
+      return;
+    }
+    // A snapshot pushed live, e.g. when a player joined, may already be newer.
+    const current = Reversi.state.currentSessionSummary;
+    const snapshot = frames[0].sessionSummary;
+    enterGame(current && current.ply > snapshot.ply ? current : snapshot);
+    frames.slice(1).forEach(applyDelta);
+  }
+
   function enterGame(sessionSummary) {
     const { menuPage, gamePage, gameContainer } = Reversi.elements;
     console.log("enterGame called with:", sessionSummary);
@@ -76,7 +111,6 @@
 
   function renderGame(sessionSummary) {
     const { gameContainer } = Reversi.elements;
-    const renderToken = ++Reversi.state.renderSequence;
     console.log("renderGame called with:", sessionSummary);
     if (!sessionSummary || !sessionSummary.board || !sessionSummary.board.boardCells) {
       console.error("Invalid session summary!");
@@ -108,22 +142,8 @@
       return;
     }
 
-    fetchPossibleMoves(sessionSummary.sessionId, sessionSummary.currentPlayerColor)
-      .then(validMoves => {
-        if (renderToken !== Reversi.state.renderSequence) {
-          return;
-        }
-        console.log("Valid moves:", validMoves);
-        renderBoard(sessionSummary.board.boardCells, validMoves);
-
-      })
-      .catch(err => {
-        if (renderToken !== Reversi.state.renderSequence) {
-          return;
-        }
-        console.error("Error fetching possible moves:", err);
-        renderBoard(sessionSummary.board.boardCells, []);
-      });
+    // The server sends the side to move's legal moves with every summary and delta.
+    renderBoard(sessionSummary.board.boardCells, sessionSummary.legalMoves || []);
   }
 
   function renderBoard(boardCells, validMoves) {
@@ -176,6 +196,9 @@
     }
     console.log("Current turn from session:", Reversi.state.currentSessionSummary.currentPlayerColor);
     console.log("Client color:", Reversi.state.clientColor);
+    if (!Reversi.state.clientColor) {
+      return;
+    }
     if (Reversi.state.currentSessionSummary.currentPlayerColor.toUpperCase() !== Reversi.state.clientColor.toUpperCase()) {
       console.log("Not your turn!");
       return;
@@ -211,25 +234,6 @@
       });
   }
 
-  function fetchPossibleMoves(sessionId, color) {
-    return fetch(`/api/v1/sessions/${sessionId}/possible-moves?color=${color}`, {
-      method: 'GET',
-      headers: {
-        'Content-Type': 'application/json'
-      }
-    })
-      .then(response => {
-        if (!response.ok) {
-          throw new Error('Failed to fetch possible moves');
-        }
-        return response.json();
-      })
-      .catch(err => {
-        console.error('Error fetching possible moves:', err);
-        return [];
-      });
-  }
-
   function updateScoreboardNames(sessionSummary) {
     if (!sessionSummary) {
       return;
@@ -267,7 +271,7 @@
     return fallback;
   }
 
-  function connectToSocket(gameId) {
+  function connectToSocket(gameId, spectate) {
     //console.log("connecting to the game");
     let socket = new SockJS(Reversi.config.WEBSOCKET_ENDPOINT);
     Reversi.state.stompClient = Stomp.over(socket);
@@ -276,10 +280,68 @@
       Reversi.state.stompClient.subscribe("/topic/game-progress/" + gameId, function (response) {
         let data = JSON.parse(response.body);
         //console.log(data);
+        if (data.type === "DELTA") {
+          applyDelta(data);
+          return;
+        }
         Reversi.state.currentSessionSummary = data.sessionSummary;
         renderGame(Reversi.state.currentSessionSummary);
       });
+      if (spectate) {
+        // Subscribed after the live topic, so nothing published in between is missed.
+        Reversi.state.stompClient.subscribe("/app/spectate/" + gameId, function (response) {
+          catchUp(JSON.parse(response.body));
+        });
+      }
+    });
+  }
+
+  // Deltas only apply on top of the ply they were diffed from; anything else is stale or means one was missed.
+  function applyDelta(delta) {
+    const summary = Reversi.state.currentSessionSummary;
+    if (!summary) {
+      // A spectator still waiting for its catch-up frames.
+      return;
+    }
+    if (!summary.board || summary.ply !== delta.fromPly) {
+      if (delta.ply > summary.ply) {
+        resyncSession(delta.sessionId);
+      }
+      return;
+    }
+    const cells = summary.board.boardCells;
+    delta.placed.concat(delta.flipped).forEach(square => {
+      cells[square.row][square.column] = square.color === "BLACK" ? "B" : "W";
     });
+    summary.ply = delta.ply;
+    summary.whiteScore = delta.whiteScore;
+    summary.blackScore = delta.blackScore;
+    summary.currentPlayerColor = delta.currentPlayerColor;
+    summary.currentPlayerNickname = delta.currentPlayerNickname;
+    summary.gameState = delta.gameState;
+    summary.legalMoves = delta.legalMoves;
+    renderGame(summary);
+  }
+
+  function resyncSession(sessionId) {
+    fetch(`/api/v1/sessions/${sessionId}`)
+      .then(response => {
+        if (!response.ok) {
+          throw new Error(`HTTP error! Status: ${response.status}`);
+        }
+        return response.json();
+      })
+      .then(summary => {
+        const current = Reversi.state.currentSessionSummary;
+        // A delta may have caught up while the request was in flight.
+        if (!current || summary.ply >= current.ply) {
+          Reversi.state.currentSessionSummary = summary;
+          renderGame(summary);
+        }
+      })
+      .catch(error => {
+        console.error("Error resyncing session:", error);
+      });
   }
 
   function showSessionInfo(summary) {
@@ -366,6 +428,7 @@
   window.Game = {
     startGame,
     joinGame,
+    spectateGame,
     enterGame,
     connectToSocket,
     copySessionId
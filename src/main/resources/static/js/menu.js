@@ -26,10 +26,14 @@
     overlayBody.innerHTML = `
       <input type="text" id="sessionIdInput" placeholder="Enter Session ID" />
       <button id="joinBtn">Join</button>
+      <button id="spectateBtn">Watch</button>
     `;
     document.getElementById("joinBtn").addEventListener("click", function() {
       window.Game.joinGame();
     });
+    document.getElementById("spectateBtn").addEventListener("click", function() {
+      window.Game.spectateGame();
+    });
   }
 
   window.Menu = {
@@ -0,0 +1,27 @@
+package com.project.reversi;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds board snapshots from rows written as strings, one character per cell ({@code B}, {@code W} or
+ * {@code -}), for {@code Board.fromSnapshot} and {@code Board.loadState}. Shared by the tests and the
+ * benchmarks.
+ */
+public final class BoardSnapshots {
+
+  private BoardSnapshots() {
+  }
+
+  public static List<List<String>> rows(String... rows) {
+    List<List<String>> snapshot = new ArrayList<>();
+    for (String row : rows) {
+      List<String> cells = new ArrayList<>();
+      for (char cell : row.toCharArray()) {
+        cells.add(String.valueOf(cell));
+      }
+      snapshot.add(cells);
+    }
+    return snapshot;
+  }
+}
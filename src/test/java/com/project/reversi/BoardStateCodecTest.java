@@ -0,0 +1,75 @@
+package com.project.reversi;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.BoardStateCodec;
+import com.project.reversi.model.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoardStateCodecTest {
+
+  @Test
+  public void testStandardBoardRoundTripsInSeventeenBytes() {
+    Board board = new Board(8, 8);
+    assertTrue(board.makeMove(2, 4, PlayerColor.WHITE));
+    assertTrue(board.makeMove(2, 3, PlayerColor.BLACK));
+
+    byte[] data = BoardStateCodec.encode(board);
+    Board decoded = BoardStateCodec.decode(data);
+
+    assertEquals(17, data.length);
+    assertEquals(BoardStateCodec.BITBOARD_FORMAT, data[0]);
+    assertEquals(board.toString(), decoded.toString());
+    assertEquals(board.getPieceCount(PlayerColor.BLACK), decoded.getPieceCount(PlayerColor.BLACK));
+    assertEquals(board.getPieceCount(PlayerColor.WHITE), decoded.getPieceCount(PlayerColor.WHITE));
+    assertEquals(board.getHash(), decoded.getHash());
+  }
+
+  @Test
+  public void testOtherSizesRoundTripPacked() {
+    Board board = new Board(10, 10);
+    assertTrue(board.makeMove(3, 5, PlayerColor.WHITE));
+
+    byte[] data = BoardStateCodec.encode(board);
+    Board decoded = BoardStateCodec.decode(data);
+
+    assertEquals(3 + 25, data.length, "Header plus two bits per cell");
+    assertEquals(BoardStateCodec.PACKED_FORMAT, data[0]);
+    assertEquals(10, decoded.getNumRows());
+    assertEquals(10, decoded.getNumColumns());
+    assertEquals(board.toString(), decoded.toString());
+    assertEquals(board.getPieceCount(PlayerColor.WHITE), decoded.getPieceCount(PlayerColor.WHITE));
+    assertEquals(board.getPieceCount(PlayerColor.BLACK), decoded.getPieceCount(PlayerColor.BLACK));
+  }
+
+  @Test
+  public void testLegacyJsonRowsStillDecode() {
+    Board board = new Board(8, 8);
+    assertTrue(board.makeMove(2, 4, PlayerColor.WHITE));
+    String legacy = BoardStateCodec.encodeLegacyJson(board);
+
+    Board decoded = BoardStateCodec.decodeLegacyJson(legacy);
+
+    assertEquals(board.toString(), decoded.toString());
+    assertEquals(board.toString(), BoardStateCodec.decode(BoardStateCodec.encode(decoded)).toString());
+  }
+
+  @Test
+  public void testMissingStateDecodesToNull() {
+    assertNull(BoardStateCodec.encode(null));
+    assertNull(BoardStateCodec.decode(null));
+    assertNull(BoardStateCodec.decode(new byte[0]));
+    assertNull(BoardStateCodec.decodeLegacyJson(" "));
+  }
+
+  @Test
+  public void testCorruptStateIsRejected() {
+    assertThrows(IllegalStateException.class, () -> BoardStateCodec.decode(new byte[] {9, 0, 0}));
+    assertThrows(IllegalStateException.class, () -> BoardStateCodec.decode(new byte[] {BoardStateCodec.BITBOARD_FORMAT, 1}));
+    assertThrows(IllegalStateException.class, () -> BoardStateCodec.decode(new byte[] {BoardStateCodec.PACKED_FORMAT, 10, 10, 0}));
+  }
+}
@@ -1,8 +1,11 @@
 package com.project.reversi;
 
+import com.project.reversi.model.Bitboards;
 import com.project.reversi.model.Board;
 import com.project.reversi.model.Piece;
 import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import com.project.reversi.model.Zobrist;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -10,6 +13,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -93,4 +97,110 @@ public class BoardTest {
     assertNotNull(originalPiece, "The previously flipped disc should be restored");
     assertEquals(PlayerColor.WHITE, originalPiece.getColor(), "The restored disc should regain its original colour");
   }
+
+  @Test
+  public void testStandardBoardIsBitboardBacked() {
+    Board standard = new Board(8, 8);
+    assertTrue(standard.isBitboardBacked(), "8x8 boards should use the bitboard engine");
+    assertFalse(board.isBitboardBacked(), "Other sizes should keep the grid representation");
+    assertEquals(PlayerColor.WHITE, standard.getPiece(3, 3).getColor());
+    assertEquals(PlayerColor.BLACK, standard.getPiece(3, 4).getColor());
+    assertNull(standard.getPiece(0, 0));
+  }
+
+  @Test
+  public void testInitialLegalMovesOnStandardBoard() {
+    Board standard = new Board(8, 8);
+    assertEquals(
+        List.of(new Position(2, 3), new Position(3, 2), new Position(4, 5), new Position(5, 4)),
+        standard.legalMoves(PlayerColor.BLACK));
+    assertEquals(
+        List.of(new Position(2, 4), new Position(3, 5), new Position(4, 2), new Position(5, 3)),
+        standard.legalMoves(PlayerColor.WHITE));
+    assertEquals(4, Long.bitCount(standard.legalMoveMask(PlayerColor.BLACK)));
+  }
+
+  @Test
+  public void testFlipMaskMatchesFlippedPieces() {
+    Board standard = new Board(8, 8);
+    long mask = standard.computeFlipMask(2, 3, PlayerColor.BLACK);
+    assertEquals(1L << (3 * 8 + 3), mask, "Black at (2,3) should flip only (3,3)");
+    assertEquals(1, standard.computeFlips(2, 3, PlayerColor.BLACK).size());
+    assertEquals(0L, standard.computeFlipMask(0, 0, PlayerColor.BLACK), "Corner is not a legal opening move");
+
+    assertTrue(standard.makeMove(2, 3, PlayerColor.BLACK));
+    assertEquals(PlayerColor.BLACK, standard.getPiece(3, 3).getColor());
+    assertEquals(4, standard.getPieceCount(PlayerColor.BLACK));
+    assertEquals(1, standard.getPieceCount(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testUndoMoveRestoresStandardBoard() {
+    Board standard = new Board(8, 8);
+    String initialSnapshot = standard.toString();
+
+    List<Piece> flips = standard.computeFlips(4, 5, PlayerColor.BLACK);
+    assertFalse(flips.isEmpty(), "Expected a legal move for black at (4,5)");
+    standard.applyMove(4, 5, PlayerColor.BLACK, flips);
+    standard.undoMove(4, 5, PlayerColor.BLACK, flips);
+
+    assertEquals(initialSnapshot, standard.toString());
+    assertEquals(2, standard.getPieceCount(PlayerColor.BLACK));
+    assertEquals(2, standard.getPieceCount(PlayerColor.WHITE));
+  }
+
+  @Test
+  public void testCopyOfStandardBoardIsIndependent() {
+    Board standard = new Board(8, 8);
+    Board copy = standard.copyBoard();
+    assertTrue(copy.makeMove(2, 3, PlayerColor.BLACK));
+
+    assertEquals(PlayerColor.WHITE, standard.getPiece(3, 3).getColor(), "Original must not see moves on the copy");
+    assertEquals(2, standard.getPieceCount(PlayerColor.BLACK));
+    assertEquals(4, copy.getPieceCount(PlayerColor.BLACK));
+  }
+
+  @Test
+  public void testMakeUnmakeRestoresExactState() {
+    Board standard = new Board(8, 8);
+    assertTrue(standard.makeMove(2, 3, PlayerColor.BLACK));
+    long black = standard.getBits(PlayerColor.BLACK);
+    long white = standard.getBits(PlayerColor.WHITE);
+
+    long moves = standard.legalMoveMask(PlayerColor.WHITE);
+    while (moves != 0) {
+      int square = Long.numberOfTrailingZeros(moves);
+      moves &= moves - 1;
+      long flips = standard.computeFlipMask(square, PlayerColor.WHITE);
+      assertNotEquals(0L, flips, "Every legal move flips at least one disc");
+
+      standard.make(square, flips, PlayerColor.WHITE);
+      assertEquals(4 - Long.bitCount(flips), standard.getPieceCount(PlayerColor.BLACK));
+      assertEquals(2 + Long.bitCount(flips), standard.getPieceCount(PlayerColor.WHITE));
+      standard.unmake(square, flips, PlayerColor.WHITE);
+
+      assertEquals(black, standard.getBits(PlayerColor.BLACK));
+      assertEquals(white, standard.getBits(PlayerColor.WHITE));
+      assertEquals(4, standard.getPieceCount(PlayerColor.BLACK));
+      assertEquals(1, standard.getPieceCount(PlayerColor.WHITE));
+    }
+  }
+
+  @Test
+  public void testHashIsMaintainedIncrementally() {
+    Board standard = new Board(8, 8);
+    long initialHash = standard.getHash();
+    assertEquals(Zobrist.hash(standard.getBits(PlayerColor.BLACK), standard.getBits(PlayerColor.WHITE)), initialHash);
+
+    assertTrue(standard.makeMove(2, 3, PlayerColor.BLACK));
+    long afterMoveHash = standard.getHash();
+    long flips = standard.computeFlipMask(2, 2, PlayerColor.WHITE);
+    standard.make(Bitboards.square(2, 2), flips, PlayerColor.WHITE);
+    assertEquals(Zobrist.hash(standard.getBits(PlayerColor.BLACK), standard.getBits(PlayerColor.WHITE)), standard.getHash());
+    assertEquals(standard.getHash(), standard.copyBoard().getHash());
+
+    standard.unmake(Bitboards.square(2, 2), flips, PlayerColor.WHITE);
+    assertEquals(afterMoveHash, standard.getHash());
+    assertNotEquals(initialHash, standard.getHash());
+  }
 }
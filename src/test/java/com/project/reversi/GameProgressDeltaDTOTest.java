@@ -0,0 +1,96 @@
+package com.project.reversi;
+
+import com.project.reversi.dto.BoardDTO;
+import com.project.reversi.dto.GameProgressDeltaDTO;
+import com.project.reversi.dto.SquareDTO;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameProgressDeltaDTOTest {
+
+  @Test
+  public void testDeltaCarriesThePlacedDiscAndItsFlips() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_PLAYER);
+    session.joinSession(new Player(PlayerColor.BLACK));
+    Board before = session.getBoard().copyBoard();
+
+    assertTrue(session.playMove(2, 4, PlayerColor.WHITE));
+    session.advanceTurnWithPass();
+    session.updateScores();
+    GameProgressDeltaDTO delta = GameProgressDeltaDTO.between(before, 0, session, "Move successful");
+
+    assertEquals(0, delta.getFromPly());
+    assertEquals(1, delta.getPly());
+    assertEquals(1, delta.getPlaced().size());
+    assertEquals(2, delta.getPlaced().get(0).getRow());
+    assertEquals(4, delta.getPlaced().get(0).getColumn());
+    assertEquals("WHITE", delta.getPlaced().get(0).getColor());
+    assertEquals(1, delta.getFlipped().size());
+    assertEquals(4, delta.getWhiteScore());
+    assertEquals(1, delta.getBlackScore());
+    assertEquals("BLACK", delta.getCurrentPlayerColor());
+    assertEquals(session.computeValidMoves(PlayerColor.BLACK).size(), delta.getLegalMoves().size());
+  }
+
+  @Test
+  public void testLegalMovesAreGeneratedOncePerPly() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_PLAYER);
+    session.joinSession(new Player(PlayerColor.BLACK));
+
+    List<Position> moves = session.computeValidMoves(PlayerColor.WHITE);
+    assertSame(moves, session.computeValidMovesForCurrentPlayer());
+    assertTrue(session.playMove(2, 4, PlayerColor.WHITE));
+    session.advanceTurnWithPass();
+
+    assertNotSame(moves, session.computeValidMoves(PlayerColor.WHITE));
+    assertSame(session.computeValidMoves(PlayerColor.BLACK), session.computeValidMovesForCurrentPlayer());
+    assertEquals(session.getBoard().legalMoves(PlayerColor.BLACK), session.computeValidMovesForCurrentPlayer());
+  }
+
+  @Test
+  public void testAppliedDeltasReproduceTheBoard() {
+    assertDeltasReplay(8, new Random(21));
+    assertDeltasReplay(10, new Random(21));
+  }
+
+  private static void assertDeltasReplay(int size, Random random) {
+    GameSession session = new GameSession(new Board(size, size), new Player(PlayerColor.WHITE),
+                                          GameType.PLAYER_VS_PLAYER);
+    session.joinSession(new Player(PlayerColor.BLACK));
+    // What game.js holds: the board cells of the last summary, patched by each delta.
+    List<List<String>> client = BoardDTO.fromBoard(session.getBoard()).getBoardCells();
+    while (!session.isGameOver()) {
+      int fromPly = session.getPly();
+      Board before = session.getBoard().copyBoard();
+      PlayerColor color = session.getCurrentPlayer().getColor();
+      List<Position> moves = session.computeValidMoves(color);
+      Position move = moves.get(random.nextInt(moves.size()));
+      assertTrue(session.playMove(move.row(), move.col(), color));
+      session.advanceTurnWithPass();
+      session.updateScores();
+
+      GameProgressDeltaDTO delta = GameProgressDeltaDTO.between(before, fromPly, session, "Move successful");
+      assertEquals(1, delta.getPlaced().size());
+      List<SquareDTO> changed = new ArrayList<>(delta.getPlaced());
+      changed.addAll(delta.getFlipped());
+      for (SquareDTO square : changed) {
+        client.get(square.getRow()).set(square.getColumn(), "BLACK".equals(square.getColor()) ? "B" : "W");
+      }
+      assertEquals(BoardDTO.fromBoard(session.getBoard()).getBoardCells(), client, "Board after ply " + delta.getPly());
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.project.reversi;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Perft;
+import com.project.reversi.model.Piece;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.reversi.BoardSnapshots.rows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PerftTest {
+
+  // Published leaf counts from the initial position, depth 1 upwards.
+  private static final long[] INITIAL_POSITION_COUNTS = {4, 12, 56, 244, 1396, 8200, 55092, 390216};
+
+  // Late-game position whose tree contains passes within a few plies.
+  private static final String[] ENDGAME = {
+      "BBBBBB--",
+      "BBWWBBB-",
+      "BWWBB---",
+      "BWBBBBB-",
+      "BWBBBWWW",
+      "-BWWBWWW",
+      "B-WWWWWW",
+      "--BBB-WW"
+  };
+
+  @Test
+  public void testInitialPositionMatchesReferenceCounts() {
+    Board board = new Board(8, 8);
+    for (int depth = 1; depth <= INITIAL_POSITION_COUNTS.length; depth++) {
+      assertEquals(INITIAL_POSITION_COUNTS[depth - 1], Perft.perft(board, PlayerColor.BLACK, depth),
+                   "Perft mismatch at depth " + depth);
+    }
+    assertEquals(1, Perft.perft(board, PlayerColor.BLACK, 0));
+  }
+
+  @Test
+  public void testSessionUsesPlayerToMove() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+
+    assertEquals(Perft.perft(session.getBoard(), session.getCurrentPlayer().getColor(), 5), Perft.perft(session, 5));
+  }
+
+  @Test
+  public void testSnapshotWithPassesMatchesListBasedMoveGeneration() {
+    Board board = Board.fromSnapshot(rows(ENDGAME));
+    GameSession session = new GameSession(board, new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+    String before = board.toString();
+
+    for (int depth = 1; depth <= 8; depth++) {
+      long expected = referencePerft(session, board, PlayerColor.BLACK, depth, false);
+      assertEquals(expected, Perft.perft(board, PlayerColor.BLACK, depth), "Perft mismatch at depth " + depth);
+      assertEquals(expected, Perft.parallelPerft(board, PlayerColor.BLACK, depth, 3),
+                   "Parallel perft mismatch at depth " + depth);
+    }
+    assertEquals(before, board.toString(), "Perft must leave the board untouched");
+  }
+
+  @Test
+  public void testParallelMatchesSingleThreaded() {
+    Board board = new Board(8, 8);
+
+    assertEquals(Perft.perft(board, PlayerColor.BLACK, 7), Perft.parallelPerft(board, PlayerColor.BLACK, 7, 4));
+  }
+
+  @Test
+  public void testNonStandardBoardIsRejected() {
+    assertThrows(IllegalStateException.class, () -> Perft.perft(new Board(10, 10), PlayerColor.BLACK, 2));
+  }
+
+  /**
+   * Straightforward count through the list-based move API, independent of the bitboard fast path.
+   */
+  private static long referencePerft(GameSession session, Board board, PlayerColor toMove, int depth, boolean passed) {
+    if (depth == 0) {
+      return 1;
+    }
+    List<Position> moves = session.computeValidMoves(toMove);
+    if (moves.isEmpty()) {
+      return passed ? 1 : referencePerft(session, board, toMove.opposite(), depth - 1, true);
+    }
+    long leaves = 0;
+    for (Position move : moves) {
+      List<Piece> flips = new ArrayList<>(board.computeFlips(move.row(), move.col(), toMove));
+      board.applyMove(move.row(), move.col(), toMove, flips);
+      leaves += referencePerft(session, board, toMove.opposite(), depth - 1, false);
+      board.undoMove(move.row(), move.col(), toMove, flips);
+    }
+    return leaves;
+  }
+}
@@ -0,0 +1,112 @@
+package com.project.reversi.config;
+
+import com.project.reversi.dto.GameProgressDeltaDTO;
+import com.project.reversi.services.GameProgressPublisher;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext
+class BrokerRelayTest {
+
+  private static final EmbeddedStompBroker broker = new EmbeddedStompBroker();
+
+  @Autowired
+  private GameProgressPublisher progressPublisher;
+
+  @Autowired
+  private StompBrokerRelayMessageHandler relay;
+
+  @DynamicPropertySource
+  static void relayToEmbeddedBroker(DynamicPropertyRegistry registry) {
+    broker.start();
+    registry.add("reversi.websocket.broker-relay", () -> "true");
+    registry.add("reversi.websocket.relay-port", broker::getPort);
+    registry.add("reversi.session-cache.enabled", () -> "false");
+    registry.add("reversi.leaderboard.in-memory-index", () -> "false");
+    registry.add("reversi.leaderboard.max-cached-pages", () -> "0");
+    registry.add("reversi.websocket.spectator-feeds", () -> "0");
+  }
+
+  @AfterAll
+  static void stopBroker() {
+    broker.stop();
+  }
+
+  @Test
+  void progressReachesSubscribersOfAnotherNode() throws Exception {
+    awaitRelayConnected();
+    // Subscribes straight on the broker, as another instance would on behalf of its websocket clients.
+    ReactorNettyTcpStompClient client = new ReactorNettyTcpStompClient("localhost", broker.getPort());
+    client.setMessageConverter(new MappingJackson2MessageConverter());
+    // Receipts are tracked on the scheduler; the subscription is only in place once its receipt arrives.
+    ThreadPoolTaskScheduler receiptScheduler = new ThreadPoolTaskScheduler();
+    receiptScheduler.initialize();
+    client.setTaskScheduler(receiptScheduler);
+    BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+    StompSession session = client.connect(new StompSessionHandlerAdapter() { }).get(10, TimeUnit.SECONDS);
+    try {
+      session.setAutoReceipt(true);
+      CountDownLatch subscribed = new CountDownLatch(1);
+      session.subscribe("/topic/game-progress/relayed", new StompFrameHandler() {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+          return Map.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+          received.add((Map<?, ?>) payload);
+        }
+      }).addReceiptTask(subscribed::countDown);
+      assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+
+      GameProgressDeltaDTO delta = new GameProgressDeltaDTO();
+      delta.setSessionId("relayed");
+      delta.setPly(3);
+      progressPublisher.publishDelta(delta);
+
+      Map<?, ?> frame = received.poll(10, TimeUnit.SECONDS);
+      assertNotNull(frame, "The delta should have been relayed through the broker");
+      assertEquals(GameProgressDeltaDTO.TYPE, frame.get("type"));
+      assertEquals(3, frame.get("ply"));
+    }
+    finally {
+      session.disconnect();
+      client.shutdown();
+      receiptScheduler.shutdown();
+    }
+  }
+
+  private void awaitRelayConnected() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!relay.isBrokerAvailable()) {
+      assertTrue(System.nanoTime() < deadline, "Relay did not connect to the embedded broker");
+      Thread.sleep(50);
+    }
+  }
+}
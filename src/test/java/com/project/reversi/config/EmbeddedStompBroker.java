@@ -0,0 +1,70 @@
+package com.project.reversi.config;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * In-process STOMP broker standing in for the external one in broker relay mode. Destinations under
+ * {@code /topic/} are delivered to every subscriber, as on RabbitMQ or ActiveMQ.
+ */
+class EmbeddedStompBroker {
+
+  private EmbeddedActiveMQ server;
+  private int port;
+
+  /**
+   * Starts the broker on a free port. Does nothing if it is already running.
+   */
+  synchronized void start() {
+    if (server != null) {
+      return;
+    }
+    try {
+      port = freePort();
+      Configuration configuration = new ConfigurationImpl()
+          .setPersistenceEnabled(false)
+          .setSecurityEnabled(false)
+          .setJMXManagementEnabled(false)
+          .addAcceptorConfiguration("stomp", "tcp://localhost:" + port
+                                             + "?protocols=STOMP;multicastPrefix=/topic/");
+      server = new EmbeddedActiveMQ().setConfiguration(configuration);
+      server.start();
+    }
+    catch (Exception e) {
+      throw new IllegalStateException("Could not start the embedded STOMP broker", e);
+    }
+  }
+
+  synchronized void stop() {
+    if (server == null) {
+      return;
+    }
+    try {
+      server.stop();
+    }
+    catch (Exception e) {
+      throw new IllegalStateException("Could not stop the embedded STOMP broker", e);
+    }
+    finally {
+      server = null;
+    }
+  }
+
+  int getPort() {
+    return port;
+  }
+
+  private static int freePort() {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
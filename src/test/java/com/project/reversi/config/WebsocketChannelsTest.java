@@ -0,0 +1,119 @@
+package com.project.reversi.config;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebsocketChannelsTest {
+
+  @Test
+  void fullOutboundQueueDropsAndCountsMessages() throws InterruptedException {
+    WebsocketProperties properties = new WebsocketProperties();
+    properties.setOutboundThreads(1);
+    properties.setOutboundQueueCapacity(1);
+    WebsocketChannels channels = new WebsocketChannels(properties);
+    ThreadPoolTaskExecutor outbound = channels.getOutboundExecutor();
+    outbound.initialize();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      outbound.execute(() -> {
+        started.countDown();
+        awaitQuietly(release);
+      });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      outbound.execute(() -> { });   // fills the queue
+
+      assertThrows(TaskRejectedException.class, () -> outbound.execute(() -> { }));
+      assertEquals(1, channels.getOutboundQueueDepth());
+      assertEquals(1, channels.getDroppedMessages());
+      assertEquals(new WebsocketChannels.Stats(0, 1, 1, 0), channels.logStats());
+    }
+    finally {
+      release.countDown();
+      outbound.shutdown();
+    }
+  }
+
+  @Test
+  void fullInboundQueueRunsFrameOnReceivingThread() throws InterruptedException {
+    WebsocketProperties properties = new WebsocketProperties();
+    properties.setInboundThreads(1);
+    properties.setInboundQueueCapacity(1);
+    WebsocketChannels channels = new WebsocketChannels(properties);
+    ThreadPoolTaskExecutor inbound = channels.getInboundExecutor();
+    inbound.initialize();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    String[] overflowThread = new String[1];
+    try {
+      inbound.execute(() -> {
+        started.countDown();
+        awaitQuietly(release);
+      });
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      inbound.execute(() -> { });
+      inbound.execute(() -> overflowThread[0] = Thread.currentThread().getName());
+
+      assertEquals(Thread.currentThread().getName(), overflowThread[0]);
+      assertEquals(0, channels.getDroppedMessages());
+    }
+    finally {
+      release.countDown();
+      inbound.shutdown();
+    }
+  }
+
+  @Test
+  void countsSessionsClosedForExceedingTheirSendLimits() throws Exception {
+    WebsocketChannels channels = new WebsocketChannels(new WebsocketProperties());
+    WebSocketHandler handler = channels.decorate(new TextWebSocketHandler());
+    WebSocketSession session = Mockito.mock(WebSocketSession.class);
+
+    handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+    handler.afterConnectionClosed(session, CloseStatus.SESSION_NOT_RELIABLE.withReason("Send time limit exceeded"));
+
+    assertEquals(1, channels.getEvictedSessions());
+  }
+
+  @Test
+  void statsLogReportsWhatChangedSinceThePreviousOne() throws Exception {
+    WebsocketProperties properties = new WebsocketProperties();
+    properties.setStatsLogInterval(Duration.ZERO);
+    WebsocketChannels channels = new WebsocketChannels(properties);
+    WebSocketHandler handler = channels.decorate(new TextWebSocketHandler());
+    WebSocketSession session = Mockito.mock(WebSocketSession.class);
+    CloseStatus sendTimeLimitExceeded = CloseStatus.SESSION_NOT_RELIABLE.withReason("Send time limit exceeded");
+
+    handler.afterConnectionClosed(session, sendTimeLimitExceeded);
+    handler.afterConnectionClosed(session, sendTimeLimitExceeded);
+    assertEquals(new WebsocketChannels.Stats(0, 0, 0, 2), channels.logStats());
+    assertEquals(new WebsocketChannels.Stats(0, 0, 0, 0), channels.logStats());
+
+    handler.afterConnectionClosed(session, sendTimeLimitExceeded);
+    assertEquals(new WebsocketChannels.Stats(0, 0, 0, 1), channels.logStats());
+    assertEquals(3, channels.getEvictedSessions());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
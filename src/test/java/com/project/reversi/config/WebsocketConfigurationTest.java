@@ -0,0 +1,45 @@
+package com.project.reversi.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebsocketConfigurationTest {
+
+  @Test
+  void relayRefusesToStartWithPerInstanceCaches() {
+    WebsocketProperties websocketProperties = new WebsocketProperties();
+    websocketProperties.setBrokerRelay(true);
+    websocketProperties.setStatsLogInterval(Duration.ZERO);
+    LeaderboardProperties leaderboardProperties = new LeaderboardProperties();
+    leaderboardProperties.setInMemoryIndex(false);
+
+    IllegalStateException failure = assertThrows(IllegalStateException.class, () -> new WebsocketConfiguration(
+        websocketProperties, new WebsocketChannels(websocketProperties), new SessionCacheProperties(),
+        leaderboardProperties));
+
+    assertTrue(failure.getMessage().contains("reversi.session-cache.enabled=false"), failure.getMessage());
+    assertTrue(failure.getMessage().contains("reversi.leaderboard.max-cached-pages=0"), failure.getMessage());
+    assertTrue(failure.getMessage().contains("reversi.websocket.spectator-feeds=0"), failure.getMessage());
+  }
+
+  @Test
+  void relayStartsOnceNothingIsKeptPerInstance() {
+    WebsocketProperties websocketProperties = new WebsocketProperties();
+    websocketProperties.setBrokerRelay(true);
+    websocketProperties.setSpectatorFeeds(0);
+    SessionCacheProperties sessionCacheProperties = new SessionCacheProperties();
+    sessionCacheProperties.setEnabled(false);
+    LeaderboardProperties leaderboardProperties = new LeaderboardProperties();
+    leaderboardProperties.setInMemoryIndex(false);
+    leaderboardProperties.setMaxCachedPages(0);
+
+    assertEquals(List.of(), WebsocketConfiguration.perInstanceState(websocketProperties, sessionCacheProperties,
+                                                                    leaderboardProperties));
+  }
+}
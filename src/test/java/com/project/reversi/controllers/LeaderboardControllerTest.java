@@ -0,0 +1,81 @@
+package com.project.reversi.controllers;
+
+import com.project.reversi.dto.LeaderboardEntry;
+import com.project.reversi.dto.LeaderboardRow;
+import com.project.reversi.services.LeaderboardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = LeaderboardController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class LeaderboardControllerTest {
+
+  private static final String ETAG = "\"abc-3-0-20\"";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private LeaderboardService leaderboardService;
+
+  @Test
+  @DisplayName("GET /api/v1/leaderboard returns the cached page with its ETag")
+  void getLeaderboardSendsETag() throws Exception {
+    stubPage();
+
+    mockMvc.perform(get("/api/v1/leaderboard"))
+           .andExpect(status().isOk())
+           .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+           .andExpect(jsonPath("$.content[0].username", is("alice")))
+           .andExpect(jsonPath("$.content[0].rank", is(1)));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/leaderboard with a matching If-None-Match returns 304 without a body")
+  void getLeaderboardNotModified() throws Exception {
+    stubPage();
+
+    mockMvc.perform(get("/api/v1/leaderboard").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+           .andExpect(status().isNotModified())
+           .andExpect(content().string(""));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/leaderboard sends no ETag when pages are not cached")
+  void getLeaderboardWithoutPageCache() throws Exception {
+    stubPage(null);
+
+    mockMvc.perform(get("/api/v1/leaderboard").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+           .andExpect(status().isOk())
+           .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+           .andExpect(jsonPath("$.content[0].username", is("alice")));
+  }
+
+  private void stubPage() {
+    stubPage(ETAG);
+  }
+
+  private void stubPage(String etag) {
+    List<LeaderboardRow> rows = List.of(new LeaderboardEntry(1L, "alice", 2, 2, 0, 0, 1.0, 1));
+    Mockito.when(leaderboardService.getCachedLeaderboard(0, 20))
+           .thenReturn(new LeaderboardService.CachedPage(new PageImpl<>(rows, PageRequest.of(0, 20), 1), etag));
+  }
+}
@@ -11,8 +11,11 @@ import com.project.reversi.model.Player;
 import com.project.reversi.model.PlayerColor;
 import com.project.reversi.model.Position;
 import com.project.reversi.model.User;
+import com.project.reversi.services.GameProgressPublisher;
+import com.project.reversi.services.GameReplayService;
 import com.project.reversi.services.GameService;
 import com.project.reversi.services.GameSessionService;
+import com.project.reversi.services.SessionBusyException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,7 +26,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
@@ -53,7 +55,10 @@ public class SessionControllerTest {
   private GameService gameService;
 
   @MockBean
-  private SimpMessagingTemplate simpMessagingTemplate;
+  private GameProgressPublisher progressPublisher;
+
+  @MockBean
+  private GameReplayService gameReplayService;
 
   @Autowired
   private ObjectMapper objectMapper;
@@ -111,6 +116,7 @@ public class SessionControllerTest {
            .andExpect(jsonPath("$.playerColors[0]", anyOf(is("WHITE"), is("BLACK"))))
            .andExpect(jsonPath("$.playerColors[1]", anyOf(is("WHITE"), is("BLACK"))))
            .andExpect(jsonPath("$.playerNicknames", notNullValue()));
+    Mockito.verify(progressPublisher).publish(Mockito.any(), Mockito.eq("Player joined"));
   }
 
   @Test
@@ -123,6 +129,16 @@ public class SessionControllerTest {
   }
 
 
+  @Test
+  @DisplayName("GET /api/v1/sessions/{id}/replay returns 404 when not found")
+  void replayNotFound() throws Exception {
+    Mockito.when(gameService.getSessionById("missing")).thenReturn(null);
+
+    mockMvc.perform(get("/api/v1/sessions/missing/replay"))
+           .andExpect(status().isNotFound());
+    Mockito.verifyNoInteractions(gameReplayService);
+  }
+
   @Test
   @DisplayName("GET /api/v1/sessions/{id}/board returns board DTO for session")
   void getBoard() throws Exception {
@@ -177,6 +193,28 @@ public class SessionControllerTest {
            .andExpect(status().isOk())
            .andExpect(jsonPath("$.message", is("Move successful")))
            .andExpect(jsonPath("$.sessionSummary.sessionId", is(session.getSessionId())))
-           .andExpect(jsonPath("$.sessionSummary.playerNicknames", notNullValue()));
+           .andExpect(jsonPath("$.sessionSummary.playerNicknames", notNullValue()))
+           .andExpect(jsonPath("$.sessionSummary.legalMoves", hasSize(4)));
+    // The move itself reaches subscribers as a delta from the game service.
+    Mockito.verifyNoInteractions(progressPublisher);
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/sessions/{id}/moves returns 503 when the move could not start in time")
+  void makeMoveOnBusySession() throws Exception {
+    Mockito.when(gameService.makeMove(Mockito.eq("busy"), Mockito.anyInt(), Mockito.anyInt(), Mockito.any()))
+           .thenThrow(new SessionBusyException("Timed out waiting for session busy"));
+
+    MoveRequestDTO req = new MoveRequestDTO();
+    req.setRow(2);
+    req.setColumn(3);
+    req.setColor(PlayerColor.WHITE);
+
+    mockMvc.perform(post("/api/v1/sessions/busy/moves")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+           .andExpect(status().isServiceUnavailable())
+           .andExpect(jsonPath("$.message", is("The game is busy, please try again")));
+    Mockito.verify(gameService, Mockito.never()).resumeComputerTurns(Mockito.any());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.project.reversi.controllers;
+
+import com.project.reversi.services.GameBroadcastCache;
+import com.project.reversi.services.GameService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpectatorControllerTest {
+
+  @Test
+  void catchUpIsSentToTheSubscriberAsJson() {
+    byte[] frames = "{\"type\":\"CATCH_UP\",\"frames\":[]}".getBytes(StandardCharsets.UTF_8);
+    GameService gameService = Mockito.mock(GameService.class);
+    GameBroadcastCache broadcastCache = Mockito.mock(GameBroadcastCache.class);
+    Mockito.when(broadcastCache.catchUp(null)).thenReturn(frames);
+    List<Message<?>> sent = new ArrayList<>();
+    SpectatorController controller = new SpectatorController(gameService, broadcastCache, (message, timeout) -> {
+      sent.add(message);
+      return true;
+    });
+
+    SimpMessageHeaderAccessor subscription = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+    subscription.setSessionId("ws-1");
+    subscription.setSubscriptionId("sub-0");
+    subscription.setDestination("/app/spectate/game-1");
+    controller.spectate("game-1", subscription);
+
+    assertEquals(1, sent.size());
+    SimpMessageHeaderAccessor reply = SimpMessageHeaderAccessor.wrap(sent.get(0));
+    assertEquals(SimpMessageType.MESSAGE, reply.getMessageType());
+    assertEquals("ws-1", reply.getSessionId());
+    assertEquals("sub-0", reply.getSubscriptionId());
+    assertEquals("/app/spectate/game-1", reply.getDestination());
+    assertEquals(MimeTypeUtils.APPLICATION_JSON, reply.getContentType());
+    assertEquals(frames, sent.get(0).getPayload());
+  }
+}
@@ -8,6 +8,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.query.Param;
 
+/**
+ * The leaderboard aggregated from scratch over every finished game. The application reads the incrementally
+ * maintained {@code player_stats} instead; tests keep this query as the reference it must agree with.
+ */
 public interface LeaderboardRepository extends Repository<User, Long> {
 
   String LEADERBOARD_BASE = """
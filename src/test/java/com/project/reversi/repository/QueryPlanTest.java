@@ -0,0 +1,77 @@
+package com.project.reversi.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the hot queries are planned on the indexes from the migrations. Runs against the database
+ * of the active profile: H2 by default, PostgreSQL with {@code -Dspring.profiles.active=postgres}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanTest {
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void preferIndexesOnEmptyTables() {
+    String database = jdbcTemplate.execute(
+        (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+    if ("PostgreSQL".equals(database)) {
+      // On tables this small PostgreSQL would rightly scan; the plan is what the index allows.
+      jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+  }
+
+  @Test
+  void playersOfASessionUseTheSessionIndex() {
+    assertPlanUses("idx_player_session", "SELECT * FROM player WHERE session_id = 'x'");
+  }
+
+  @Test
+  void seatsOfAUserUseTheCoveringUserIndex() {
+    assertPlanUses("idx_player_user", "SELECT session_id, color FROM player WHERE user_id = 1");
+  }
+
+  @Test
+  void finishedPvpGamesUseTheirOwnIndex() {
+    assertPlanUses("idx_game_session_finished_pvp", """
+        SELECT session_id, game_state FROM game_session
+        WHERE game_type = 'PLAYER_VS_PLAYER' AND game_state <> 'IN_PROGRESS'
+        """);
+  }
+
+  @Test
+  void uncountedResultsUseTheirOwnIndex() {
+    assertPlanUses("idx_game_session_unrecorded", """
+        SELECT session_id FROM game_session
+        WHERE result_recorded = FALSE AND game_state <> 'IN_PROGRESS'
+        """);
+  }
+
+  @Test
+  void leaderboardPagesAreReadInIndexOrder() {
+    assertPlanUses("idx_player_stats_rank", """
+        SELECT * FROM player_stats
+        ORDER BY wins DESC, win_rate DESC, losses ASC, user_id ASC
+        LIMIT 20
+        """);
+  }
+
+  private void assertPlanUses(String index, String sql) {
+    List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+    String plan = String.join("\n", lines);
+    assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+  }
+}
@@ -0,0 +1,78 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.ComputerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComputerTurnExecutorTest {
+
+  @Test
+  void disabledByDefault() {
+    ComputerTurnExecutor executor = new ComputerTurnExecutor(new ComputerProperties());
+
+    assertFalse(executor.isEnabled());
+    assertThrows(IllegalStateException.class, () -> executor.submit(() -> { }));
+  }
+
+  @Test
+  void runsTurnsOnDedicatedThreads() throws InterruptedException {
+    ComputerTurnExecutor executor = new ComputerTurnExecutor(asyncProperties(1, 4));
+    AtomicReference<String> threadName = new AtomicReference<>();
+    CountDownLatch done = new CountDownLatch(1);
+    try {
+      executor.submit(() -> {
+        threadName.set(Thread.currentThread().getName());
+        done.countDown();
+      });
+
+      assertTrue(done.await(5, TimeUnit.SECONDS));
+      assertTrue(threadName.get().startsWith("computer-turn-"), threadName.get());
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void fullQueueRunsTurnOnSubmittingThread() throws InterruptedException {
+    ComputerTurnExecutor executor = new ComputerTurnExecutor(asyncProperties(1, 1));
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicReference<String> overflowThread = new AtomicReference<>();
+    try {
+      executor.submit(() -> awaitQuietly(release));   // occupies the only thread
+      executor.submit(() -> { });                      // fills the queue
+      executor.submit(() -> overflowThread.set(Thread.currentThread().getName()));
+
+      assertEquals(Thread.currentThread().getName(), overflowThread.get());
+    }
+    finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  private static ComputerProperties asyncProperties(int threads, int queueCapacity) {
+    ComputerProperties properties = new ComputerProperties();
+    properties.setAsyncTurns(true);
+    properties.setAsyncThreads(threads);
+    properties.setAsyncQueueCapacity(queueCapacity);
+    return properties;
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
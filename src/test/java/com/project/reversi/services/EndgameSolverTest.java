@@ -0,0 +1,133 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Bitboards;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static com.project.reversi.BoardSnapshots.rows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndgameSolverTest {
+
+  private static final long START_BLACK = 0x0000000810000000L;
+  private static final long START_WHITE = 0x0000001008000000L;
+
+  @Test
+  void scoresLastEmptyForEitherSide() {
+    Board board = lastEmptyBoard();
+    long black = board.getBits(PlayerColor.BLACK);
+    long white = board.getBits(PlayerColor.WHITE);
+
+    // White takes (0,0) and flips (0,1): 3 white discs against 61 black.
+    assertEquals(-58, new EndgameSolver().solve(white, black));
+    // Black cannot play (0,0), so White does it after the pass.
+    assertEquals(58, new EndgameSolver().solve(black, white));
+  }
+
+  @Test
+  void matchesPlainMinimaxOnRandomEndgames() {
+    Random random = new Random(42);
+    for (int i = 0; i < 100; i++) {
+      long[] position = randomPosition(random, 1 + random.nextInt(9));
+      int expected = minimax(position[0], position[1], false);
+
+      EndgameSolver solver = new EndgameSolver();
+      assertEquals(expected, solver.solve(position[0], position[1]));
+      solver.solveBestMove(position[0], position[1]);
+      assertEquals(expected, solver.getBestScore());
+    }
+  }
+
+  @Test
+  void strategyHandsOverToSolverBelowThreshold() {
+    GameSession session = new GameSession(lastEmptyBoard(), new Player(PlayerColor.BLACK), GameType.PLAYER_VS_COMPUTER);
+
+    SearchResult result = new MinMaxAlphaBetaStrat(3, Duration.ofSeconds(5), 0, 14).analyze(session, PlayerColor.WHITE);
+
+    assertEquals(new Position(0, 0), result.move());
+    assertEquals(-58, result.score());
+    assertEquals(1, result.depth(), "Depth reports the empties solved");
+  }
+
+  @Test
+  void solverOutOfTimeLeavesTheMoveToTheSearch() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.BLACK), GameType.PLAYER_VS_COMPUTER);
+
+    // The opening cannot be solved within the budget.
+    SearchResult result = new MinMaxAlphaBetaStrat(3, Duration.ofMillis(1), 0, 60).analyze(session, PlayerColor.BLACK);
+
+    assertTrue(result.depth() >= 1 && result.depth() <= 3, "Depth " + result.depth() + " is not a search depth");
+    assertTrue(session.computeValidMoves(PlayerColor.BLACK).contains(result.move()));
+  }
+
+  private static Board lastEmptyBoard() {
+    Board board = new Board(8, 8);
+    board.loadState(rows(
+        "-BWBBBBB",
+        "BBBBBBBB",
+        "BBBBBBBB",
+        "BBBBBBBB",
+        "BBBBBBBB",
+        "BBBBBBBB",
+        "BBBBBBBB",
+        "BBBBBBBB"));
+    return board;
+  }
+
+  private static int minimax(long player, long opponent, boolean passed) {
+    long moves = Bitboards.legalMoves(player, opponent);
+    if (moves == 0) {
+      return passed ? Long.bitCount(player) - Long.bitCount(opponent) : -minimax(opponent, player, true);
+    }
+    int best = Integer.MIN_VALUE;
+    while (moves != 0) {
+      int square = Long.numberOfTrailingZeros(moves);
+      moves &= moves - 1;
+      long flips = Bitboards.flips(player, opponent, square);
+      best = Math.max(best, -minimax(opponent & ~flips, player | flips | (1L << square), false));
+    }
+    return best;
+  }
+
+  /**
+   * Plays random moves from the start until {@code empties} squares remain; returns {player to move, opponent}.
+   */
+  private static long[] randomPosition(Random random, int empties) {
+    while (true) {
+      long player = START_BLACK;
+      long opponent = START_WHITE;
+      while (Long.bitCount(~(player | opponent)) > empties) {
+        long moves = Bitboards.legalMoves(player, opponent);
+        if (moves == 0) {
+          long swap = player;
+          player = opponent;
+          opponent = swap;
+          moves = Bitboards.legalMoves(player, opponent);
+          if (moves == 0) {
+            break;
+          }
+        }
+        for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+          moves &= moves - 1;
+        }
+        int square = Long.numberOfTrailingZeros(moves);
+        long flips = Bitboards.flips(player, opponent, square);
+        long next = opponent & ~flips;
+        opponent = player | flips | (1L << square);
+        player = next;
+      }
+      if (Long.bitCount(~(player | opponent)) == empties) {
+        return new long[] {player, opponent};
+      }
+    }
+  }
+}
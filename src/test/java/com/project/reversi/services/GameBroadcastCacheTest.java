@@ -0,0 +1,123 @@
+package com.project.reversi.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.reversi.config.WebsocketProperties;
+import com.project.reversi.dto.GameProgressDeltaDTO;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameBroadcastCacheTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void lateJoinersGetTheSnapshotAndTheDeltasSince() throws IOException {
+    GameBroadcastCache cache = cache(8);
+    GameSession session = newSession();
+    cache.catchUp(session);
+
+    GameProgressDeltaDTO first = play(session);
+    byte[] firstFrame = cache.delta(first);
+    cache.delta(play(session));
+    JsonNode catchUp = objectMapper.readTree(cache.catchUp(session));
+
+    assertEquals("CATCH_UP", catchUp.get("type").asText());
+    assertEquals(3, catchUp.get("frames").size());
+    assertEquals("SNAPSHOT", catchUp.get("frames").get(0).get("type").asText());
+    assertEquals(0, catchUp.get("frames").get(0).get("sessionSummary").get("ply").asInt());
+    assertEquals(objectMapper.readTree(firstFrame), catchUp.get("frames").get(1));
+    assertEquals(2, catchUp.get("frames").get(2).get("ply").asInt());
+    assertSame(cache.catchUp(session), cache.catchUp(session), "Joiners between two moves share the same bytes");
+  }
+
+  @Test
+  void gapOrLongTailRebuildsTheSnapshot() throws IOException {
+    GameBroadcastCache cache = cache(1);
+    GameSession session = newSession();
+    cache.catchUp(session);
+
+    cache.delta(play(session));
+    byte[] withTail = cache.catchUp(session);
+    assertEquals(2, objectMapper.readTree(withTail).get("frames").size());
+
+    cache.delta(play(session));   // beyond the tail length
+    JsonNode rebuilt = objectMapper.readTree(cache.catchUp(session));
+    assertEquals(1, rebuilt.get("frames").size());
+    assertEquals(2, rebuilt.get("frames").get(0).get("sessionSummary").get("ply").asInt());
+
+    play(session);                // never published
+    cache.delta(play(session));
+    JsonNode afterGap = objectMapper.readTree(cache.catchUp(session));
+    assertEquals(1, afterGap.get("frames").size());
+    assertEquals(4, afterGap.get("frames").get(0).get("sessionSummary").get("ply").asInt());
+  }
+
+  @Test
+  void finishedGamesAndUnknownSessionsAreNotKept() throws IOException {
+    GameBroadcastCache cache = cache(8);
+    GameSession session = newSession();
+    byte[] first = cache.catchUp(session);
+    assertEquals(1, cache.size());
+
+    GameProgressDeltaDTO delta = play(session);
+    delta.setGameState("WHITE_WINS");
+    cache.delta(delta);
+
+    assertEquals(0, cache.size());
+    assertNotSame(first, cache.catchUp(session));
+    assertEquals(0, objectMapper.readTree(cache.catchUp(null)).get("frames").size());
+  }
+
+  @Test
+  void withoutFeedsEveryCatchUpIsBuiltFromTheSession() throws IOException {
+    WebsocketProperties properties = new WebsocketProperties();
+    properties.setSpectatorFeeds(0);
+    GameBroadcastCache cache = new GameBroadcastCache(objectMapper, properties);
+    GameSession session = newSession();
+    byte[] first = cache.catchUp(session);
+
+    cache.delta(play(session));
+    JsonNode catchUp = objectMapper.readTree(cache.catchUp(session));
+
+    assertEquals(0, cache.size());
+    assertNotSame(first, cache.catchUp(session));
+    assertEquals(1, catchUp.get("frames").size());
+    assertEquals(1, catchUp.get("frames").get(0).get("sessionSummary").get("ply").asInt());
+  }
+
+  private GameBroadcastCache cache(int tailLength) {
+    WebsocketProperties properties = new WebsocketProperties();
+    properties.setSpectatorTailLength(tailLength);
+    return new GameBroadcastCache(objectMapper, properties);
+  }
+
+  private static GameSession newSession() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_PLAYER);
+    session.joinSession(new Player(PlayerColor.BLACK));
+    return session;
+  }
+
+  private static GameProgressDeltaDTO play(GameSession session) {
+    int fromPly = session.getPly();
+    Board before = session.getBoard().copyBoard();
+    PlayerColor color = session.getCurrentPlayer().getColor();
+    Position move = session.computeValidMoves(color).get(0);
+    assertTrue(session.playMove(move.row(), move.col(), color));
+    session.advanceTurnWithPass();
+    session.updateScores();
+    return GameProgressDeltaDTO.between(before, fromPly, session, "Move successful");
+  }
+}
@@ -0,0 +1,76 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.MoveLogProperties;
+import com.project.reversi.config.SessionCacheProperties;
+import com.project.reversi.dto.BoardDTO;
+import com.project.reversi.dto.ReplayFrameDTO;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import com.project.reversi.repository.JpaGameMoveRepository;
+import com.project.reversi.repository.JpaGameSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+public class GameReplayServiceTest {
+
+  @Autowired
+  private JpaGameSessionRepository repository;
+
+  @Autowired
+  private JpaGameMoveRepository moveRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void replayRebuildsEveryPlyAcrossChunks() {
+    GameSessionCache cache = new GameSessionCache(repository, moveRepository, new SessionCacheProperties(),
+                                                  new MoveLogProperties(), transactionManager, event -> { });
+    GameService gameService = new GameService(cache, SessionExecutor.inline(), new ComputerMoveEngine(null),
+                                              null, null);
+    GameSession session = repository.save(new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE),
+                                                          GameType.PLAYER_VS_PLAYER));
+    session.joinSession(new Player(PlayerColor.BLACK));
+    session = repository.save(session);
+    String sessionId = session.getSessionId();
+
+    while (!session.isFinished()) {
+      PlayerColor color = session.getCurrentPlayer().getColor();
+      Position move = session.computeValidMoves(color).get(0);
+      gameService.makeMove(sessionId, move.row(), move.col(), color);
+      session = gameService.getSessionById(sessionId);
+    }
+
+    List<ReplayFrameDTO> frames = new ArrayList<>();
+    new GameReplayService(moveRepository, 8).replay(sessionId, session.getPly(), session.getBoard(), frames::add);
+
+    assertEquals(session.getPly() + 1, frames.size());
+    ReplayFrameDTO start = frames.get(0);
+    assertEquals(0, start.getPly());
+    assertNull(start.getMove());
+    assertEquals(2, start.getWhiteScore());
+    assertEquals(2, start.getBlackScore());
+    for (int i = 1; i < frames.size(); i++) {
+      assertEquals(i, frames.get(i).getPly());
+      assertFalse(frames.get(i).isPass() && frames.get(i).getMove() != null);
+    }
+    ReplayFrameDTO last = frames.get(frames.size() - 1);
+    assertEquals(session.getWhiteScore(), last.getWhiteScore());
+    assertEquals(session.getBlackScore(), last.getBlackScore());
+    assertEquals(BoardDTO.fromBoard(session.getBoard()).getBoardCells(), last.getBoard().getBoardCells());
+  }
+}
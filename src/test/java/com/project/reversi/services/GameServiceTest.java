@@ -1,5 +1,7 @@
 package com.project.reversi.services;
 
+import com.project.reversi.config.ComputerProperties;
+import com.project.reversi.config.SessionExecutorProperties;
 import com.project.reversi.model.Board;
 import com.project.reversi.model.GameSession;
 import com.project.reversi.model.GameState;
@@ -16,6 +18,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -136,6 +140,58 @@ public class GameServiceTest {
     assertEquals(GameState.TIE, saved.getGameState());
   }
 
+  @Test
+  void asyncModeSavesHumanMoveAndLeavesComputerReplyPending() {
+    ComputerProperties properties = new ComputerProperties();
+    properties.setAsyncTurns(true);
+    ComputerTurnExecutor executor = new ComputerTurnExecutor(properties);
+    // The engine has no strategy: any inline computer turn would fail.
+    GameService asyncService = new GameService(GameSessionCache.uncached(repository), SessionExecutor.inline(),
+                                               new ComputerMoveEngine(null), executor, null);
+    GameSession session = gameSessionService.createGameSession(GameType.PLAYER_VS_COMPUTER, new Player(PlayerColor.WHITE));
+
+    try {
+      MoveResult result = asyncService.makeMove(session.getSessionId(), 2, 4, PlayerColor.WHITE);
+      assertEquals(MoveResult.SUCCESS, result);
+
+      GameSession saved = repository.findById(session.getSessionId()).orElseThrow();
+      assertTrue(saved.getCurrentPlayer().isComputer());
+      assertEquals(4, saved.getWhiteScore());
+      assertEquals(1, saved.getBlackScore());
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void computerTurnOnABusySessionIsGivenUpAfterALimitedNumberOfTries() {
+    AtomicInteger calls = new AtomicInteger();
+    // Lets the human move through, then reports the session busy.
+    SessionExecutor busyAfterFirstCall = new SessionExecutor(disabledExecutor()) {
+      @Override
+      public <T> T call(String sessionId, Supplier<T> change) {
+        if (calls.incrementAndGet() > 1) {
+          throw new SessionBusyException("Timed out waiting for session " + sessionId);
+        }
+        return super.call(sessionId, change);
+      }
+    };
+    GameService busyService = new GameService(GameSessionCache.uncached(repository), busyAfterFirstCall,
+                                              new ComputerMoveEngine(null), null, null);
+    GameSession session = gameSessionService.createGameSession(GameType.PLAYER_VS_COMPUTER, new Player(PlayerColor.WHITE));
+
+    assertEquals(MoveResult.SUCCESS, busyService.makeMove(session.getSessionId(), 2, 4, PlayerColor.WHITE));
+    assertEquals(1 + GameService.BUSY_COMPUTER_TURN_ATTEMPTS, calls.get());
+    assertTrue(repository.findById(session.getSessionId()).orElseThrow().getCurrentPlayer().isComputer());
+  }
+
+  private static SessionExecutorProperties disabledExecutor() {
+    SessionExecutorProperties properties = new SessionExecutorProperties();
+    properties.setEnabled(false);
+    return properties;
+  }
+
   /**
    * Fake board that simulates game over with BLACK leading.
    */
@@ -189,6 +245,8 @@ public class GameServiceTest {
         return Collections.emptyList();
     }
     @Override
+    public boolean hasLegalMove(PlayerColor color) { return color == PlayerColor.WHITE; }
+    @Override
     public int getPieceCount(PlayerColor color) { return color == PlayerColor.WHITE ? 5 : 4; }
   }
 
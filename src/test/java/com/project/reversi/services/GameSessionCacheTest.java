@@ -0,0 +1,331 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.MoveLogProperties;
+import com.project.reversi.config.SessionCacheProperties;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameMove;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import com.project.reversi.repository.JpaGameMoveRepository;
+import com.project.reversi.repository.JpaGameSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class GameSessionCacheTest {
+
+  @Autowired
+  private JpaGameSessionRepository repository;
+
+  @Autowired
+  private JpaGameMoveRepository moveRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private final List<Object> events = new ArrayList<>();
+
+  @Test
+  void repeatedReadsAreServedFromMemory() {
+    GameSessionCache cache = cache(10, Duration.ofMinutes(15));
+    String sessionId = createSession().getSessionId();
+
+    GameSession first = cache.findById(sessionId).orElseThrow();
+    GameSession second = cache.findById(sessionId).orElseThrow();
+
+    assertSame(first, second);
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  void savesAreWrittenThrough() {
+    GameSessionCache cache = cache(10, Duration.ofMinutes(15));
+    GameSession session = cache.findById(createSession().getSessionId()).orElseThrow();
+
+    assertTrue(session.playMove(2, 4, PlayerColor.WHITE));
+    session.advanceTurnWithPass();
+    session.updateScores();
+    GameSession saved = cache.save(session);
+    entityManager.flush();
+    entityManager.clear();
+
+    // The move goes to the move log; the board snapshot is only rewritten every few plies.
+    List<GameMove> log = moveRepository.findBySessionIdOrderByPlyAsc(session.getSessionId());
+    assertEquals(1, log.size());
+    assertEquals(2, log.get(0).getRow());
+    assertEquals(4, log.get(0).getCol());
+    assertEquals(PlayerColor.WHITE, log.get(0).getColor());
+    GameSession stored = cache(10, Duration.ofMinutes(15)).findById(session.getSessionId()).orElseThrow();
+    assertEquals(saved.getBoard().toString(), stored.getBoard().toString());
+    assertEquals(1, stored.getPly());
+    assertEquals(4, stored.getWhiteScore());
+    assertEquals(1, stored.getBlackScore());
+    assertSame(saved, cache.findById(session.getSessionId()).orElseThrow());
+  }
+
+  @Test
+  void movesAreLoggedAndReplayedOnTopOfTheLastSnapshot() {
+    GameSessionCache cache = cache(10, Duration.ofMinutes(15), 4);
+    GameSession session = cache.findById(createSession().getSessionId()).orElseThrow();
+    for (int i = 0; i < 6; i++) {
+      playFirstLegalMove(session);
+      session = cache.save(session);
+    }
+    String board = session.getBoard().toString();
+    entityManager.flush();
+    entityManager.clear();
+
+    List<GameMove> log = moveRepository.findBySessionIdOrderByPlyAsc(session.getSessionId());
+    assertEquals(6, log.size());
+    assertEquals(1, log.get(0).getPly());
+    GameSession stored = repository.findById(session.getSessionId()).orElseThrow();
+    assertEquals(6, stored.getPly());
+    assertEquals(4, stored.getSnapshotPly(), "Only every fourth ply should rewrite the snapshot");
+
+    GameSession reloaded = cache(10, Duration.ofMinutes(15), 4).findById(session.getSessionId()).orElseThrow();
+    assertEquals(board, reloaded.getBoard().toString());
+  }
+
+  @Test
+  void writeBehindCoalescesSavesUntilFlushed() {
+    SessionCacheProperties properties = new SessionCacheProperties();
+    properties.setWriteBehind(true);
+    properties.setFlushInterval(Duration.ofHours(1));
+    GameSessionCache cache = writeBehindCache(properties);
+    try {
+      String sessionId = createSession().getSessionId();
+      GameSession session = cache.findById(sessionId).orElseThrow();
+      // Between requests the cached session is detached.
+      entityManager.flush();
+      entityManager.clear();
+
+      playFirstLegalMove(session);
+      assertSame(session, cache.save(session));
+      playFirstLegalMove(session);
+      assertSame(session, cache.save(session));
+
+      assertEquals(1, cache.getDirtyCount());
+      assertEquals(0, repository.findById(sessionId).orElseThrow().getPly());
+      entityManager.clear();
+
+      cache.flush();
+      entityManager.clear();
+      assertEquals(0, cache.getDirtyCount());
+      assertEquals(2, repository.findById(sessionId).orElseThrow().getPly());
+      entityManager.clear();
+
+      // The cached copy carries the row's new version into the next flush.
+      playFirstLegalMove(session);
+      cache.save(session);
+      cache.flush();
+      entityManager.clear();
+      assertEquals(3, moveRepository.findBySessionIdOrderByPlyAsc(sessionId).size());
+      assertEquals(session.getBoard().toString(), cache(10, Duration.ofMinutes(15)).findById(sessionId).orElseThrow()
+                                                                                    .getBoard().toString());
+    }
+    finally {
+      cache.shutdown();
+    }
+  }
+
+  @Test
+  void oneFlushWritesEveryDirtySession() {
+    SessionCacheProperties properties = new SessionCacheProperties();
+    properties.setWriteBehind(true);
+    properties.setFlushInterval(Duration.ofHours(1));
+    GameSessionCache cache = writeBehindCache(properties);
+    try {
+      List<GameSession> sessions = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        sessions.add(cache.findById(createSession().getSessionId()).orElseThrow());
+      }
+      entityManager.flush();
+      entityManager.clear();
+      for (GameSession session : sessions) {
+        playFirstLegalMove(session);
+        cache.save(session);
+      }
+      assertEquals(3, cache.getDirtyCount());
+
+      cache.flush();
+      entityManager.clear();
+      for (GameSession session : sessions) {
+        GameSession stored = repository.findById(session.getSessionId()).orElseThrow();
+        assertEquals(1, stored.getPly());
+        assertEquals(session.getVersion(), stored.getVersion(), "The cached copy must carry the row's version");
+      }
+    }
+    finally {
+      cache.shutdown();
+    }
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void flushLosingToAConcurrentUpdateDropsTheSessionAndReportsIt() {
+    SessionCacheProperties properties = new SessionCacheProperties();
+    properties.setWriteBehind(true);
+    properties.setFlushInterval(Duration.ofHours(1));
+    GameSessionCache cache = writeBehindCache(properties);
+    String sessionId = createSession().getSessionId();
+    try {
+      GameSession session = cache.findById(sessionId).orElseThrow();
+      playFirstLegalMove(session);
+      cache.save(session);
+
+      // Another instance moves first.
+      GameSessionCache otherInstance = cache(10, Duration.ofMinutes(15));
+      GameSession winner = otherInstance.findById(sessionId).orElseThrow();
+      playFirstLegalMove(winner);
+      winner = otherInstance.save(winner);
+
+      cache.flush();
+      assertEquals(List.of(new UnsavedMovesLostEvent(sessionId)), events);
+      assertEquals(0, cache.getDirtyCount());
+      assertEquals(0, cache.size());
+      assertEquals(winner.getBoard().toString(), cache.findById(sessionId).orElseThrow().getBoard().toString());
+    }
+    finally {
+      cache.shutdown();
+      // Nothing is rolled back here.
+      moveRepository.deleteAll(moveRepository.findBySessionIdOrderByPlyAsc(sessionId));
+      cache.evict(sessionId);
+      repository.deleteById(sessionId);
+    }
+  }
+
+  @Test
+  void leastRecentlyUsedSessionIsDroppedBeyondMaxSize() {
+    GameSessionCache cache = cache(2, Duration.ofMinutes(15));
+    String first = createSession().getSessionId();
+    String second = createSession().getSessionId();
+    String third = createSession().getSessionId();
+
+    cache.findById(first);
+    cache.findById(second);
+    cache.findById(first);
+    cache.findById(third);
+
+    assertEquals(2, cache.size());
+    cache.findById(first);
+    assertEquals(2, cache.getHits(), "First session should still be cached");
+    cache.findById(second);
+    assertEquals(4, cache.getMisses(), "Second session should have been evicted");
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void dirtySessionsHoldTheCacheOverItsSizeUntilFlushed() {
+    SessionCacheProperties properties = new SessionCacheProperties();
+    properties.setWriteBehind(true);
+    properties.setFlushInterval(Duration.ofHours(1));
+    properties.setMaxSize(2);
+    GameSessionCache cache = writeBehindCache(properties);
+    List<String> sessionIds = new ArrayList<>();
+    try {
+      for (int i = 0; i < 4; i++) {
+        sessionIds.add(createSession().getSessionId());
+      }
+      for (String sessionId : sessionIds.subList(0, 3)) {
+        GameSession session = cache.findById(sessionId).orElseThrow();
+        playFirstLegalMove(session);
+        cache.save(session);
+      }
+      assertEquals(3, cache.size(), "Unflushed sessions must not be dropped");
+
+      cache.flush();
+      cache.findById(sessionIds.get(3));
+      assertEquals(2, cache.size());
+      assertEquals(0, cache.getDirtyCount());
+    }
+    finally {
+      cache.shutdown();
+      // Nothing is rolled back here.
+      for (String sessionId : sessionIds) {
+        moveRepository.deleteAll(moveRepository.findBySessionIdOrderByPlyAsc(sessionId));
+        cache.evict(sessionId);
+        repository.deleteById(sessionId);
+      }
+    }
+  }
+
+  @Test
+  void idleSessionsExpire() {
+    GameSessionCache cache = cache(10, Duration.ofSeconds(30));
+    String sessionId = createSession().getSessionId();
+
+    cache.findById(sessionId);
+    clock.addAndGet(Duration.ofSeconds(31).toNanos());
+    cache.findById(sessionId);
+
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  void disabledCacheReadsTheRepositoryEveryTime() {
+    GameSessionCache cache = GameSessionCache.uncached(repository);
+    String sessionId = createSession().getSessionId();
+
+    cache.findById(sessionId);
+    cache.findById(sessionId);
+
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getHits());
+  }
+
+  private GameSessionCache cache(int maxSize, Duration idleTimeout) {
+    return cache(maxSize, idleTimeout, new MoveLogProperties().getSnapshotInterval());
+  }
+
+  private GameSessionCache cache(int maxSize, Duration idleTimeout, int snapshotInterval) {
+    SessionCacheProperties properties = new SessionCacheProperties();
+    properties.setMaxSize(maxSize);
+    properties.setIdleTimeout(idleTimeout);
+    MoveLogProperties moveLogProperties = new MoveLogProperties();
+    moveLogProperties.setSnapshotInterval(snapshotInterval);
+    return new GameSessionCache(repository, moveRepository, properties, moveLogProperties, transactionManager,
+                                events::add, clock::get);
+  }
+
+  private GameSessionCache writeBehindCache(SessionCacheProperties properties) {
+    return new GameSessionCache(repository, moveRepository, properties, new MoveLogProperties(), transactionManager,
+                                events::add, clock::get);
+  }
+
+  private static void playFirstLegalMove(GameSession session) {
+    PlayerColor color = session.getCurrentPlayer().getColor();
+    Position move = session.computeValidMoves(color).get(0);
+    assertTrue(session.playMove(move.row(), move.col(), color));
+    session.advanceTurnWithPass();
+    session.updateScores();
+  }
+
+  private GameSession createSession() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+    return repository.save(session);
+  }
+}
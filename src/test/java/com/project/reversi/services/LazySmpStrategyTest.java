@@ -0,0 +1,52 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazySmpStrategyTest {
+
+  @Test
+  void parallelSearchReachesRequestedDepthWithALegalMove() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+    String before = session.getBoard().toString();
+
+    try (LazySmpStrategy strategy = new LazySmpStrategy(5, null, 14, 3)) {
+      SearchResult result = strategy.analyze(session, PlayerColor.BLACK);
+
+      assertEquals(5, result.depth());
+      assertTrue(result.nodes() > 0);
+      assertTrue(session.computeValidMoves(PlayerColor.BLACK).contains(result.move()));
+    }
+    assertEquals(before, session.getBoard().toString(), "Workers must search on copies of the board");
+  }
+
+  @Test
+  void parallelSearchHonoursTimeBudget() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+
+    try (LazySmpStrategy strategy = new LazySmpStrategy(60, Duration.ofMillis(50), 14, 2)) {
+      long start = System.nanoTime();
+      SearchResult result = strategy.analyze(session, PlayerColor.BLACK);
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+      assertTrue(result.depth() >= 1);
+      assertTrue(session.computeValidMoves(PlayerColor.BLACK).contains(result.move()));
+      assertTrue(elapsedMillis < 1_000, "Search should stop close to its budget, took " + elapsedMillis + "ms");
+    }
+  }
+
+  @Test
+  void requiresASharedTable() {
+    assertThrows(IllegalArgumentException.class, () -> new LazySmpStrategy(5, null, 0, 2));
+  }
+}
@@ -0,0 +1,96 @@
+package com.project.reversi.services;
+
+import com.project.reversi.dto.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LeaderboardIndexTest {
+
+  @Test
+  void tiedPlayersShareARankAndLeaveAGap() {
+    LeaderboardIndex index = new LeaderboardIndex();
+    index.put(entry(1, 1, 0, 1));
+    index.put(entry(2, 2, 1, 0));
+    index.put(entry(3, 1, 0, 1));
+    index.put(entry(4, 1, 1, 0));
+
+    List<LeaderboardEntry> page = index.page(0, 10);
+    assertEquals(List.of(2L, 1L, 3L, 4L), page.stream().map(LeaderboardEntry::getUserId).toList());
+    assertEquals(List.of(1L, 2L, 2L, 4L), page.stream().map(LeaderboardEntry::getRank).toList());
+    assertEquals(2L, (long) index.page(2, 1).get(0).getRank(), "A page starting inside a tie keeps the shared rank");
+    assertEquals(2L, (long) index.get(3).getRank());
+    assertNull(index.get(5));
+  }
+
+  @Test
+  void olderStatsDoNotReplaceNewerOnes() {
+    LeaderboardIndex index = new LeaderboardIndex();
+    index.put(entry(1, 2, 1, 0));
+    index.put(entry(1, 1, 1, 0));
+
+    assertEquals(2L, (long) index.get(1).getWins());
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void ranksAndPagesMatchAFullSort() {
+    Random random = new Random(7);
+    LeaderboardIndex index = new LeaderboardIndex();
+    Map<Long, LeaderboardEntry> players = new HashMap<>();
+    for (int i = 0; i < 2000; i++) {
+      long userId = random.nextInt(300);
+      LeaderboardEntry current = players.get(userId);
+      long wins = current == null ? 0 : current.getWins();
+      long losses = current == null ? 0 : current.getLosses();
+      long draws = current == null ? 0 : current.getDraws();
+      switch (random.nextInt(3)) {
+        case 0 -> wins++;
+        case 1 -> losses++;
+        default -> draws++;
+      }
+      LeaderboardEntry updated = entry(userId, wins, losses, draws);
+      players.put(userId, updated);
+      index.put(updated);
+    }
+
+    List<LeaderboardEntry> sorted = new ArrayList<>(players.values());
+    sorted.sort(Comparator.comparing(LeaderboardEntry::getWins).reversed()
+                          .thenComparing(Comparator.comparing(LeaderboardEntry::getWinRate).reversed())
+                          .thenComparing(LeaderboardEntry::getLosses)
+                          .thenComparing(LeaderboardEntry::getUserId));
+    assertEquals(sorted.size(), index.size());
+    for (int offset = 0; offset < sorted.size(); offset += 17) {
+      List<LeaderboardEntry> page = index.page(offset, 17);
+      for (int i = 0; i < page.size(); i++) {
+        LeaderboardEntry expected = sorted.get(offset + i);
+        assertEquals(expected.getUserId(), page.get(i).getUserId());
+        assertEquals(rank(sorted, expected), (long) page.get(i).getRank());
+        assertEquals(page.get(i).getRank(), index.get(expected.getUserId()).getRank());
+      }
+    }
+  }
+
+  private static long rank(List<LeaderboardEntry> sorted, LeaderboardEntry entry) {
+    return sorted.stream()
+                 .filter(other -> other.getWins() > entry.getWins()
+                                  || other.getWins().equals(entry.getWins())
+                                     && (other.getWinRate() > entry.getWinRate()
+                                         || other.getWinRate().equals(entry.getWinRate())
+                                            && other.getLosses() < entry.getLosses()))
+                 .count() + 1;
+  }
+
+  private static LeaderboardEntry entry(long userId, long wins, long losses, long draws) {
+    long games = wins + losses + draws;
+    return new LeaderboardEntry(userId, "user" + userId, games, wins, losses, draws, (double) wins / games, 0);
+  }
+}
@@ -0,0 +1,178 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.LeaderboardProperties;
+import com.project.reversi.dto.LeaderboardRow;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameFinishedEvent;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameState;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import com.project.reversi.model.User;
+import com.project.reversi.repository.JpaGameSessionRepository;
+import com.project.reversi.repository.LeaderboardRepository;
+import com.project.reversi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The in-memory index only takes in committed games, so each test commits its games before reading them
+ * back and gets a fresh context, database and index.
+ */
+@DataJpaTest
+@Import({LeaderboardService.class, LeaderboardProperties.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class LeaderboardServiceTest {
+
+  @Autowired
+  private LeaderboardService leaderboardService;
+
+  @Autowired
+  private LeaderboardRepository leaderboardRepository;
+
+  @Autowired
+  private JpaGameSessionRepository sessionRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Test
+  void incrementalStatsMatchTheFullAggregation() {
+    User alice = userRepository.save(new User("alice", "pw"));
+    User bob = userRepository.save(new User("bob", "pw"));
+    User carol = userRepository.save(new User("carol", "pw"));
+    User dave = userRepository.save(new User("dave", "pw"));
+
+    recordFinishedSession(alice, bob, GameState.WHITE_WINS);
+    recordFinishedSession(bob, alice, GameState.WHITE_WINS);
+    recordFinishedSession(alice, carol, GameState.TIE);
+    recordFinishedSession(bob, carol, GameState.BLACK_WINS);
+    recordFinishedSession(dave, bob, GameState.WHITE_WINS);
+    recordFinishedSession(dave, alice, GameState.TIE);
+    commit();
+
+    List<LeaderboardRow> expected = leaderboardRepository.findLeaderboard(PageRequest.of(0, 10)).getContent();
+    List<LeaderboardRow> actual = leaderboardService.getLeaderboard(PageRequest.of(0, 10)).getContent();
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getWins(), actual.get(i).getWins());
+      assertEquals(expected.get(i).getLosses(), actual.get(i).getLosses());
+      assertEquals(expected.get(i).getDraws(), actual.get(i).getDraws());
+      assertEquals(expected.get(i).getRank(), actual.get(i).getRank());
+    }
+
+    // Carol and Dave share first place; the second page starts with one of them.
+    LeaderboardRow secondPageFirst = leaderboardService.getLeaderboard(PageRequest.of(1, 1)).getContent().get(0);
+    assertEquals(1L, secondPageFirst.getRank());
+    assertEquals(leaderboardRepository.findStatsByUserId(bob.getId()).getRank(),
+                 leaderboardService.getStats(bob.getId()).getRank());
+  }
+
+  @Test
+  void repeatedPageRequestsShareOneCachedResult() {
+    User alice = userRepository.save(new User("alice", "pw"));
+    User bob = userRepository.save(new User("bob", "pw"));
+    recordFinishedSession(alice, bob, GameState.WHITE_WINS);
+    commit();
+
+    LeaderboardService.CachedPage first = leaderboardService.getCachedLeaderboard(0, 10);
+    LeaderboardService.CachedPage second = leaderboardService.getCachedLeaderboard(0, 10);
+
+    assertSame(first, second);
+    assertNotEquals(first.etag(), leaderboardService.getCachedLeaderboard(0, 5).etag());
+  }
+
+  @Test
+  void eachFinishedSessionIsCountedOnce() {
+    User alice = userRepository.save(new User("alice", "pw"));
+    User bob = userRepository.save(new User("bob", "pw"));
+
+    GameSession session = recordFinishedSession(alice, bob, GameState.BLACK_WINS);
+    leaderboardService.onGameFinished(new GameFinishedEvent(session.getSessionId(), GameType.PLAYER_VS_PLAYER,
+                                                            GameState.BLACK_WINS));
+    commit();
+
+    assertEquals(1L, leaderboardService.getStats(alice.getId()).getGames());
+    assertEquals(1L, leaderboardService.getStats(bob.getId()).getWins());
+  }
+
+  @Test
+  void finishedComputerGamesAreMarkedRecordedWithoutCountingThem() {
+    User alice = userRepository.save(new User("alice", "pw"));
+    Player white = new Player(PlayerColor.WHITE);
+    white.setAccount(alice);
+    GameSession session = new GameSession(new Board(8, 8), white, GameType.PLAYER_VS_COMPUTER);
+    session.setGameState(GameState.WHITE_WINS);
+    session = sessionRepository.save(session);
+
+    leaderboardService.onGameFinished(new GameFinishedEvent(session.getSessionId(), GameType.PLAYER_VS_COMPUTER,
+                                                            GameState.WHITE_WINS));
+
+    assertEquals(0, sessionRepository.markAllResultsRecorded(), "A restart should find nothing to rebuild");
+    commit();
+    assertNull(leaderboardService.getStats(alice.getId()));
+  }
+
+  @Test
+  void finishingAGameUpdatesTheStats() {
+    User alice = userRepository.save(new User("alice", "pw"));
+    User bob = userRepository.save(new User("bob", "pw"));
+    GameService gameService = new GameService(sessionRepository, new ComputerMoveEngine(null));
+    GameSession session = sessionRepository.save(newSession(alice, bob));
+    String sessionId = session.getSessionId();
+    assertNull(leaderboardService.getStats(alice.getId()));
+
+    while (!session.isFinished()) {
+      PlayerColor color = session.getCurrentPlayer().getColor();
+      Position move = session.computeValidMoves(color).get(0);
+      gameService.makeMove(sessionId, move.row(), move.col(), color);
+      session = gameService.getSessionById(sessionId);
+    }
+    commit();
+
+    LeaderboardRow white = leaderboardService.getStats(alice.getId());
+    LeaderboardRow black = leaderboardService.getStats(bob.getId());
+    assertEquals(1L, white.getGames());
+    assertEquals(1L, black.getGames());
+    assertEquals(session.getGameState() == GameState.WHITE_WINS ? 1L : 0L, white.getWins());
+    assertEquals(session.getGameState() == GameState.BLACK_WINS ? 1L : 0L, black.getWins());
+  }
+
+  private static void commit() {
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+  }
+
+  private GameSession recordFinishedSession(User whiteUser, User blackUser, GameState result) {
+    GameSession session = newSession(whiteUser, blackUser);
+    session.setGameState(result);
+    session = sessionRepository.save(session);
+    leaderboardService.onGameFinished(new GameFinishedEvent(session.getSessionId(), GameType.PLAYER_VS_PLAYER,
+                                                            result));
+    return session;
+  }
+
+  private static GameSession newSession(User whiteUser, User blackUser) {
+    Player white = new Player(PlayerColor.WHITE);
+    white.setAccount(whiteUser);
+    Player black = new Player(PlayerColor.BLACK);
+    black.setAccount(blackUser);
+    GameSession session = new GameSession(new Board(8, 8), white, GameType.PLAYER_VS_PLAYER);
+    session.joinSession(black);
+    return session;
+  }
+}
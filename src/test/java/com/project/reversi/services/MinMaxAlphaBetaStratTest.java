@@ -0,0 +1,111 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameFinishedEvent;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameState;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import com.project.reversi.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.project.reversi.BoardSnapshots.rows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinMaxAlphaBetaStratTest {
+
+  @Test
+  void returnsALegalMoveWithoutTouchingTheSessionBoard() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+    assertTrue(session.getBoard().makeMove(2, 4, PlayerColor.WHITE));
+    String before = session.getBoard().toString();
+
+    Position move = new MinMaxAlphaBetaStrat(4).execute(session, PlayerColor.BLACK);
+
+    assertTrue(session.computeValidMoves(PlayerColor.BLACK).contains(move), "Search must return a legal move");
+    assertEquals(before, session.getBoard().toString(), "Search must leave the live board untouched");
+  }
+
+  @Test
+  void takesAvailableCorner() {
+    Board board = new Board(8, 8);
+    // White can take the corner (0,0) by flipping the black disc at (0,1).
+    board.loadState(rows(
+        "-BW-----",
+        "--------",
+        "--------",
+        "---WB---",
+        "---BW---",
+        "--------",
+        "--------",
+        "--------"));
+    GameSession session = new GameSession(board, new Player(PlayerColor.BLACK), GameType.PLAYER_VS_COMPUTER);
+
+    Position move = new MinMaxAlphaBetaStrat(1).execute(session, PlayerColor.WHITE);
+
+    assertEquals(new Position(0, 0), move);
+  }
+
+  @Test
+  void iterativeDeepeningReachesMaxDepthWithinGenerousBudget() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+
+    SearchResult result = new MinMaxAlphaBetaStrat(3, Duration.ofSeconds(30)).analyze(session, PlayerColor.BLACK);
+
+    assertEquals(3, result.depth());
+    assertTrue(session.computeValidMoves(PlayerColor.BLACK).contains(result.move()));
+  }
+
+  @Test
+  void iterativeDeepeningStopsAtBudgetWithCompletedDepth() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+
+    long start = System.nanoTime();
+    SearchResult result = new MinMaxAlphaBetaStrat(60, Duration.ofMillis(50)).analyze(session, PlayerColor.BLACK);
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertTrue(result.depth() >= 1 && result.depth() < 60, "Should report the last completed depth");
+    assertTrue(session.computeValidMoves(PlayerColor.BLACK).contains(result.move()));
+    assertTrue(elapsedMillis < 1_000, "Search should stop close to its budget, took " + elapsedMillis + "ms");
+  }
+
+  @Test
+  void transpositionTableSearchesFewerNodesForTheSameScore() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+    session.getBoard().loadState(rows(
+        "--------",
+        "--------",
+        "--WBB---",
+        "--BBWW--",
+        "--BWWB--",
+        "---BW---",
+        "--------",
+        "--------"));
+
+    SearchResult plain = new MinMaxAlphaBetaStrat(6, null, 0).analyze(session, PlayerColor.WHITE);
+    SearchResult withTable = new MinMaxAlphaBetaStrat(6, null, 16).analyze(session, PlayerColor.WHITE);
+
+    assertEquals(plain.score(), withTable.score(), "The table must not change the minimax value");
+    assertTrue(withTable.nodes() < plain.nodes(),
+               "Expected fewer nodes with the table: " + withTable.nodes() + " vs " + plain.nodes());
+  }
+
+  @Test
+  void finishedGamesReleaseTheirTable() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+    MinMaxAlphaBetaStrat strategy = new MinMaxAlphaBetaStrat(4, null, 10);
+    TranspositionTable table = strategy.tableFor(session);
+    assertSame(table, strategy.tableFor(session), "The table is kept between moves");
+
+    new ComputerMoveEngine(strategy).onGameFinished(
+        new GameFinishedEvent(session.getSessionId(), GameType.PLAYER_VS_COMPUTER, GameState.WHITE_WINS));
+
+    assertNotSame(table, strategy.tableFor(session));
+  }
+}
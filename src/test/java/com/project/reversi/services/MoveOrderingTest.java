@@ -0,0 +1,78 @@
+package com.project.reversi.services;
+
+import com.project.reversi.model.Bitboards;
+import com.project.reversi.model.Board;
+import com.project.reversi.model.GameSession;
+import com.project.reversi.model.GameType;
+import com.project.reversi.model.Player;
+import com.project.reversi.model.PlayerColor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveOrderingTest {
+
+  private static final int CORNER = Bitboards.square(0, 0);
+  private static final int X_SQUARE = Bitboards.square(1, 1);
+  private static final int EDGE = Bitboards.square(0, 3);
+  private static final int CENTER = Bitboards.square(3, 3);
+
+  @Test
+  void staticPriorityPutsCornersFirstAndXSquaresLast() {
+    MoveOrdering ordering = new MoveOrdering();
+
+    int count = ordering.order(mask(X_SQUARE, CENTER, CORNER, EDGE), -1, 0, PlayerColor.BLACK);
+
+    assertEquals(4, count);
+    assertEquals(CORNER, ordering.move(0, 0));
+    assertEquals(X_SQUARE, ordering.move(0, 3));
+  }
+
+  @Test
+  void tableMoveThenKillersComeBeforeEverythingElse() {
+    MoveOrdering ordering = new MoveOrdering();
+    ordering.cutoff(2, 3, CENTER, PlayerColor.WHITE, 1);
+    ordering.cutoff(2, 1, X_SQUARE, PlayerColor.WHITE, 1);
+
+    ordering.order(mask(X_SQUARE, CENTER, CORNER, EDGE), EDGE, 2, PlayerColor.WHITE);
+
+    assertEquals(EDGE, ordering.move(2, 0), "Table move first");
+    assertEquals(X_SQUARE, ordering.move(2, 1), "Newest killer next");
+    assertEquals(CENTER, ordering.move(2, 2), "Older killer after it");
+    assertEquals(CORNER, ordering.move(2, 3));
+  }
+
+  @Test
+  void historyOutranksStaticPriority() {
+    MoveOrdering ordering = new MoveOrdering();
+    // Cutoffs at another ply leave only history behind for ply 0.
+    ordering.cutoff(5, 0, EDGE, PlayerColor.BLACK, 4);
+
+    ordering.order(mask(CORNER, EDGE), -1, 0, PlayerColor.BLACK);
+    assertEquals(EDGE, ordering.move(0, 0));
+
+    ordering.order(mask(CORNER, EDGE), -1, 0, PlayerColor.WHITE);
+    assertEquals(CORNER, ordering.move(0, 0), "History is kept per colour");
+  }
+
+  @Test
+  void searchReportsCutoffStatistics() {
+    GameSession session = new GameSession(new Board(8, 8), new Player(PlayerColor.WHITE), GameType.PLAYER_VS_COMPUTER);
+
+    SearchResult result = new MinMaxAlphaBetaStrat(6, null, 0).analyze(session, PlayerColor.BLACK);
+
+    assertTrue(result.cutoffs() > 0, "Expected some beta cutoffs");
+    assertTrue(result.firstMoveCutoffs() <= result.cutoffs());
+    assertTrue(result.firstMoveCutoffRate() > 0.5,
+               "Ordering should make most cutoffs happen on the first move: " + result.firstMoveCutoffRate());
+  }
+
+  private static long mask(int... squares) {
+    long mask = 0L;
+    for (int square : squares) {
+      mask |= 1L << square;
+    }
+    return mask;
+  }
+}
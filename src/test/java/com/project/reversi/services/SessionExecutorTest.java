@@ -0,0 +1,195 @@
+package com.project.reversi.services;
+
+import com.project.reversi.config.SessionExecutorProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionExecutorTest {
+
+  @Test
+  void inlineExecutorRunsOnCallingThread() {
+    SessionExecutor executor = SessionExecutor.inline();
+
+    assertSame(Thread.currentThread(), executor.call("session", Thread::currentThread));
+  }
+
+  @Test
+  void changesToOneSessionNeverOverlap() throws Exception {
+    SessionExecutor executor = new SessionExecutor(properties(4, Duration.ofSeconds(10)));
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    AtomicInteger running = new AtomicInteger();
+    AtomicBoolean overlapped = new AtomicBoolean();
+    int[] counter = {0};
+    try {
+      List<Future<?>> calls = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        calls.add(callers.submit(() -> executor.run("session", () -> {
+          if (running.incrementAndGet() > 1) {
+            overlapped.set(true);
+          }
+          counter[0]++;
+          running.decrementAndGet();
+        })));
+      }
+      for (Future<?> call : calls) {
+        call.get(10, TimeUnit.SECONDS);
+      }
+
+      assertFalse(overlapped.get());
+      assertEquals(200, (int) executor.call("session", () -> counter[0]));
+    }
+    finally {
+      callers.shutdownNow();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void sessionsOnDifferentStripesRunInParallel() throws Exception {
+    SessionExecutor executor = new SessionExecutor(properties(8, Duration.ofSeconds(10)));
+    String first = "session-a";
+    String second = otherStripe(executor, first);
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      Future<Boolean> a = callers.submit(() -> executor.call(first, () -> meet(bothRunning)));
+      Future<Boolean> b = callers.submit(() -> executor.call(second, () -> meet(bothRunning)));
+
+      assertTrue(a.get(10, TimeUnit.SECONDS));
+      assertTrue(b.get(10, TimeUnit.SECONDS));
+    }
+    finally {
+      callers.shutdownNow();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void nestedChangeOnSameSessionRunsInline() {
+    SessionExecutor executor = new SessionExecutor(properties(2, Duration.ofSeconds(1)));
+    try {
+      assertEquals("nested", executor.call("session", () -> executor.call("session", () -> "nested")));
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void exceptionsReachTheCallerUnwrapped() {
+    SessionExecutor executor = new SessionExecutor(properties(2, Duration.ofSeconds(1)));
+    try {
+      IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> executor.run(
+          "session", () -> {
+            throw new IllegalArgumentException("Session not found");
+          }));
+      assertEquals("Session not found", thrown.getMessage());
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void queuedChangeIsDroppedWhenTheCallerTimesOut() throws Exception {
+    SessionExecutor executor = new SessionExecutor(properties(1, Duration.ofMillis(100)));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean ran = new AtomicBoolean();
+    ExecutorService callers = Executors.newSingleThreadExecutor();
+    try {
+      callers.submit(() -> executor.run("session", () -> {
+        started.countDown();
+        awaitQuietly(release);
+      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      assertThrows(SessionBusyException.class, () -> executor.run("session", () -> ran.set(true)));
+      release.countDown();
+      executor.run("session", () -> { });
+      assertFalse(ran.get());
+    }
+    finally {
+      release.countDown();
+      callers.shutdownNow();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void startedChangeIsWaitedForPastTheTimeout() {
+    SessionExecutor executor = new SessionExecutor(properties(1, Duration.ofMillis(50)));
+    try {
+      assertEquals("applied", executor.call("session", () -> {
+        sleepQuietly(300);
+        return "applied";
+      }));
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  private static String otherStripe(SessionExecutor executor, String sessionId) {
+    for (int i = 0; ; i++) {
+      String candidate = "session-" + i;
+      if (executor.stripeOf(candidate) != executor.stripeOf(sessionId)) {
+        assertNotEquals(sessionId, candidate);
+        return candidate;
+      }
+    }
+  }
+
+  private static boolean meet(CountDownLatch latch) {
+    latch.countDown();
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static SessionExecutorProperties properties(int stripes, Duration timeout) {
+    SessionExecutorProperties properties = new SessionExecutorProperties();
+    properties.setStripes(stripes);
+    properties.setTimeout(timeout);
+    return properties;
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.project.reversi.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TranspositionTableTest {
+
+  @Test
+  void storedEntryRoundTrips() {
+    TranspositionTable table = new TranspositionTable(4);
+    table.newSearch();
+    table.store(0xABCDEF12345L, 7, TranspositionTable.LOWER_BOUND, -1234, 42);
+
+    long entry = table.probe(0xABCDEF12345L);
+    assertEquals(-1234, TranspositionTable.score(entry));
+    assertEquals(7, TranspositionTable.depth(entry));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+    assertEquals(42, TranspositionTable.bestMove(entry));
+  }
+
+  @Test
+  void unknownKeyMisses() {
+    TranspositionTable table = new TranspositionTable(4);
+    table.store(1L, 3, TranspositionTable.EXACT, 10, 5);
+
+    assertEquals(0L, table.probe(1L + (1L << 40)));
+    assertEquals(0L, table.probe(2L));
+  }
+
+  @Test
+  void deeperEntrySurvivesShallowerStoreInSameBucket() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.newSearch();
+    long deepKey = 0x100L;
+    long shallowKey = 0x200L;   // same bucket: only the lowest bit selects it
+    long newestKey = 0x300L;
+    table.store(deepKey, 9, TranspositionTable.EXACT, 1, 1);
+    table.store(shallowKey, 2, TranspositionTable.EXACT, 2, 2);
+    table.store(newestKey, 1, TranspositionTable.EXACT, 3, 3);
+
+    assertEquals(9, TranspositionTable.depth(table.probe(deepKey)));
+    assertEquals(0L, table.probe(shallowKey));
+    assertEquals(3, TranspositionTable.score(table.probe(newestKey)));
+  }
+
+  @Test
+  void entriesFromOlderSearchesAreReplaced() {
+    TranspositionTable table = new TranspositionTable(1);
+    table.newSearch();
+    table.store(0x100L, 9, TranspositionTable.EXACT, 1, 1);
+    table.newSearch();
+    table.store(0x200L, 1, TranspositionTable.EXACT, 2, 2);
+
+    assertEquals(0L, table.probe(0x100L));
+    assertEquals(2, TranspositionTable.score(table.probe(0x200L)));
+  }
+}